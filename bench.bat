@@ -0,0 +1,39 @@
+@echo off
+setlocal enabledelayedexpansion
+
+rem 创建编译目录
+if not exist "build\bench-classes" mkdir "build\bench-classes"
+
+rem 设置类路径
+set "LWJGL_CP=."
+if exist "lib\lwjgl" (
+  set "LWJGL_CP=.;lib\lwjgl\*"
+)
+
+rem 查找引擎与基准源文件
+set "SOURCES="
+for /r "src\main\java" %%f in (*.java) do (
+  set "SOURCES=!SOURCES! %%f"
+)
+for /r "src\bench\java" %%f in (*.java) do (
+  set "SOURCES=!SOURCES! %%f"
+)
+
+rem 向量物理内核依赖孵化模块 jdk.incubator.vector（JDK 16+），编译与运行都需要显式加入
+set "VECTOR_FLAGS=--add-modules jdk.incubator.vector"
+
+rem 编译
+echo Compiling benchmark sources...
+javac -encoding UTF-8 %VECTOR_FLAGS% -d build\bench-classes -cp "%LWJGL_CP%" %SOURCES%
+if errorlevel 1 (
+  echo Compilation failed!
+  exit /b 1
+)
+
+set "CLASSPATH=build\bench-classes"
+if exist "lib\lwjgl" (
+  set "CLASSPATH=build\bench-classes;lib\lwjgl\*"
+)
+
+rem 运行基准: bench.bat [名称过滤] [规模列表]
+java %VECTOR_FLAGS% %BENCH_JAVA_FLAGS% -cp "%CLASSPATH%" com.gameengine.bench.BenchmarkRunner %*
@@ -0,0 +1,22 @@
+#!/bin/bash
+
+set -e
+
+# 编译引擎与基准源码（无需窗口，基准只使用 HEADLESS 后端）
+mkdir -p build/bench-classes
+LWJGL_CP="."
+if [ -d "lib/lwjgl" ]; then
+  LWJGL_CP=".:lib/lwjgl/*"
+fi
+# 向量物理内核依赖孵化模块 jdk.incubator.vector（JDK 16+），编译与运行都需要显式加入
+VECTOR_FLAGS="--add-modules jdk.incubator.vector"
+SOURCES=$(find src/main/java src/bench/java -type f -name "*.java")
+javac -encoding UTF-8 $VECTOR_FLAGS -d build/bench-classes -cp "$LWJGL_CP" $SOURCES
+
+CLASSPATH="build/bench-classes"
+if [ -d "lib/lwjgl" ]; then
+  CLASSPATH="$CLASSPATH:lib/lwjgl/*"
+fi
+
+# 用法: ./bench.sh [名称过滤] [规模列表]，例如 ./bench.sh physics,avoidance 100,1000
+java $VECTOR_FLAGS $BENCH_JAVA_FLAGS -cp "$CLASSPATH" com.gameengine.bench.BenchmarkRunner "$@" | tee bench_output.txt
@@ -18,7 +18,7 @@ for /r "src\main\java" %%f in (*.java) do (
 
 rem 编译
 echo Compiling Java sources...
-javac -encoding UTF-8 -d build\classes -cp "%LWJGL_CP%" %SOURCES%
+javac -encoding UTF-8 --add-modules jdk.incubator.vector -d build\classes -cp "%LWJGL_CP%" %SOURCES%
 if errorlevel 1 (
   echo Compilation failed!
   exit /b 1
@@ -48,6 +48,11 @@ if exist "%NATIVES_PATH%" (
   set "JAVA_FLAGS=-Dorg.lwjgl.librarypath=%NATIVES_PATH%"
 )
 
+rem set PHYSICS_KERNEL=vector 后运行以启用 SIMD 物理内核（需要孵化模块 jdk.incubator.vector）
+if /i "%PHYSICS_KERNEL%"=="vector" (
+  set "JAVA_FLAGS=!JAVA_FLAGS! --add-modules jdk.incubator.vector -Dengine.physics.kernel=vector"
+)
+
 rem 运行程序
 echo Running game...
 java %JAVA_FLAGS% -cp "%CLASSPATH%" com.gameengine.example.Game
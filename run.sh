@@ -9,7 +9,7 @@ if [ -d "lib/lwjgl" ]; then
   LWJGL_CP=".:lib/lwjgl/*"
 fi
 SOURCES=$(find src/main/java -type f -name "*.java")
-javac -d build/classes -cp "$LWJGL_CP" $SOURCES
+javac --add-modules jdk.incubator.vector -d build/classes -cp "$LWJGL_CP" $SOURCES
 
 LWJGL_DIR="lib/lwjgl"
 CLASSPATH="build/classes"
@@ -36,6 +36,11 @@ if [ -n "$OS_ID" ] && [ -n "$ARCH_ID" ] && [ -d "$LWJGL_DIR/natives/${OS_ID}-${A
   JAVA_FLAGS="-Dorg.lwjgl.librarypath=$LWJGL_DIR/natives/${OS_ID}-${ARCH_ID}"
 fi
 
+# PHYSICS_KERNEL=vector ./run.sh 启用 SIMD 物理内核（需要孵化模块 jdk.incubator.vector）
+if [ "$PHYSICS_KERNEL" = "vector" ]; then
+  JAVA_FLAGS="$JAVA_FLAGS --add-modules jdk.incubator.vector -Dengine.physics.kernel=vector"
+fi
+
 if [[ "$OS" == Darwin* ]]; then
   exec java -XstartOnFirstThread $JAVA_FLAGS -cp "$CLASSPATH" com.gameengine.example.Game
 else
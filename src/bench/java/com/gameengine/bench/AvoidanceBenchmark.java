@@ -0,0 +1,49 @@
+package com.gameengine.bench;
+
+import com.gameengine.core.GameLogic;
+import com.gameengine.scene.Scene;
+
+// GameLogic.handleAIPlayerAvoidance：通过并行阈值分别强制走串行或调度器并行路径
+public class AvoidanceBenchmark implements Benchmark {
+    private final boolean parallel;
+    private Scene scene;
+    private GameLogic logic;
+
+    public AvoidanceBenchmark(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    @Override
+    public String getName() {
+        return parallel ? "avoidance.parallel" : "avoidance.serial";
+    }
+
+    @Override
+    public boolean isAllocationFree() {
+        return !parallel;
+    }
+
+    @Override
+    public int[] getSizes() {
+        return new int[] {100, 1000, 10000, 100000};
+    }
+
+    @Override
+    public void setup(int size) {
+        scene = BenchFixtures.createScene(size, 42L);
+        logic = new GameLogic(scene);
+        logic.setJobScheduler(BenchFixtures.SCHEDULER);
+        logic.setParallelAvoidanceThreshold(parallel ? 0 : Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void run() {
+        logic.handleAIPlayerAvoidance(BenchFixtures.DT);
+    }
+
+    @Override
+    public void teardown() {
+        logic.cleanup();
+        scene.clear();
+    }
+}
@@ -0,0 +1,57 @@
+package com.gameengine.bench;
+
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.RenderComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.JobScheduler;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.Scene;
+
+import java.util.Random;
+
+// 基准共用的场景构建：与 GameScene 中 AI 实体相同的组件组合，固定种子保证各次运行一致
+final class BenchFixtures {
+    static final int WIDTH = 1024;
+    static final int HEIGHT = 768;
+    static final float DT = 1.0f / 60.0f;
+    // 与引擎一样所有系统共用一组工作线程（守护线程，进程退出时随之结束）
+    static final JobScheduler SCHEDULER = new JobScheduler();
+
+    private BenchFixtures() {
+    }
+
+    static Scene createScene(int entities, long seed) {
+        Scene scene = new Scene("Bench");
+        scene.initialize();
+        Random random = new Random(seed);
+        for (int i = 0; i < entities; i++) {
+            scene.addGameObject(createAIPlayer(random));
+        }
+        // 刷新一次，把新对象挂入 Archetype 与查询
+        scene.update(0.0f);
+        return scene;
+    }
+
+    static GameObject createAIPlayer(Random random) {
+        GameObject obj = new GameObject("AIPlayer");
+        obj.addComponent(new TransformComponent(new Vector2(
+            random.nextFloat() * (WIDTH - 40) + 20,
+            random.nextFloat() * (HEIGHT - 40) + 20
+        )));
+        obj.addComponent(new RenderComponent(
+            RenderComponent.RenderType.RECTANGLE,
+            new Vector2(20, 20),
+            new RenderComponent.Color(0.0f, 0.8f, 1.0f, 1.0f)
+        ));
+        PhysicsComponent physics = obj.addComponent(new PhysicsComponent(0.5f));
+        physics.setVelocity(new Vector2(
+            (random.nextFloat() - 0.5f) * 150,
+            (random.nextFloat() - 0.5f) * 150
+        ));
+        physics.setFriction(0.98f);
+        obj.addComponent(ColliderComponent.circle(15f));
+        return obj;
+    }
+}
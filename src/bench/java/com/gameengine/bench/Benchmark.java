@@ -0,0 +1,19 @@
+package com.gameengine.bench;
+
+// 单个基准：setup 按实体规模构建场景，run 为一次被计时的操作
+public interface Benchmark {
+    String getName();
+
+    int[] getSizes();
+
+    void setup(int size) throws Exception;
+
+    void run() throws Exception;
+
+    void teardown();
+
+    // 稳态下调用线程不应分配内存；-Dbench.checkAlloc=true 时违反即以非零状态退出
+    default boolean isAllocationFree() {
+        return false;
+    }
+}
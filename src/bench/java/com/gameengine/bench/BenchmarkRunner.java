@@ -0,0 +1,150 @@
+package com.gameengine.bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 引擎热路径基准：每个规模先预热再计时，输出 ns/op、ops/s、调用线程每次操作的分配字节数与 GC 次数
+// 用法: BenchmarkRunner [名称过滤,逗号分隔] [规模,逗号分隔]
+// 可选参数: -Dbench.warmupMs=1000 -Dbench.measureMs=2000 -Dbench.checkAlloc=true
+public class BenchmarkRunner {
+    private static final int MIN_OPS = 3;
+    // 分配计数本身有少量噪声（MXBean 调用、偶发的 JIT 去优化），低于该值视为零分配
+    private static final double ALLOC_TOLERANCE_PER_OP = 64.0;
+    private static final long ALLOC_TOLERANCE_TOTAL = 4096;
+
+    private static int allocationViolations;
+
+    public static void main(String[] args) throws Exception {
+        String[] filters = args.length > 0 && !args[0].isEmpty() ? args[0].split(",") : new String[0];
+        int[] sizes = args.length > 1 ? parseSizes(args[1]) : null;
+        long warmupMs = Long.getLong("bench.warmupMs", 1000L);
+        long measureMs = Long.getLong("bench.measureMs", 2000L);
+        boolean checkAlloc = Boolean.getBoolean("bench.checkAlloc");
+
+        List<Benchmark> benchmarks = new ArrayList<>();
+        benchmarks.add(new PhysicsBenchmark(false));
+        benchmarks.add(new PhysicsBenchmark(false, "vector"));
+        benchmarks.add(new PhysicsBenchmark(true));
+        benchmarks.add(new PhysicsSleepBenchmark(true));
+        benchmarks.add(new PhysicsSleepBenchmark(false));
+        benchmarks.add(new AvoidanceBenchmark(false));
+        benchmarks.add(new AvoidanceBenchmark(true));
+        benchmarks.add(new CollisionBenchmark(false));
+        benchmarks.add(new CollisionBenchmark(true));
+        benchmarks.add(new ChunkedWorldBenchmark(false));
+        benchmarks.add(new ChunkedWorldBenchmark(true));
+        benchmarks.add(new SceneChurnBenchmark());
+        benchmarks.add(new ParticleBenchmark());
+        benchmarks.add(new ParticleBenchmark("update", true));
+        benchmarks.add(new ParticleBenchmark("render", false));
+        benchmarks.add(new ParticleBenchmark("burst", false));
+        benchmarks.add(new ParticleBenchmark("burst", true));
+        benchmarks.add(new ParticleEmitterBenchmark(false));
+        benchmarks.add(new ParticleEmitterBenchmark(true));
+        benchmarks.add(new RecordingBenchmark());
+        benchmarks.add(new ReplayParseBenchmark());
+
+        System.out.println(String.format(Locale.ROOT, "# java=%s cpus=%d warmup=%dms measure=%dms",
+            System.getProperty("java.version"), Runtime.getRuntime().availableProcessors(), warmupMs, measureMs));
+        System.out.println(String.format(Locale.ROOT, "%-22s %8s %8s %14s %12s %14s %6s",
+            "benchmark", "size", "ops", "ns/op", "ops/s", "alloc B/op", "gc"));
+
+        for (Benchmark benchmark : benchmarks) {
+            if (!matches(benchmark.getName(), filters)) continue;
+            for (int size : sizes != null ? sizes : benchmark.getSizes()) {
+                runOne(benchmark, size, warmupMs, measureMs);
+            }
+        }
+
+        if (allocationViolations > 0) {
+            System.out.println("# " + allocationViolations + " 项标记为零分配的基准出现了分配（见 ALLOC 标记）");
+            if (checkAlloc) {
+                System.exit(1);
+            }
+        }
+    }
+
+    private static void runOne(Benchmark benchmark, int size, long warmupMs, long measureMs) throws Exception {
+        benchmark.setup(size);
+        try {
+            long warmupEnd = System.nanoTime() + warmupMs * 1_000_000L;
+            int warmupOps = 0;
+            while (warmupOps < MIN_OPS || System.nanoTime() < warmupEnd) {
+                benchmark.run();
+                warmupOps++;
+            }
+
+            System.gc();
+            long gcBefore = gcCount();
+            long allocBefore = allocatedBytes();
+            long start = System.nanoTime();
+            long measureEnd = start + measureMs * 1_000_000L;
+            long ops = 0;
+            long now;
+            do {
+                benchmark.run();
+                ops++;
+                now = System.nanoTime();
+            } while (ops < MIN_OPS || now < measureEnd);
+            long elapsed = now - start;
+            long alloc = allocatedBytes() - allocBefore;
+            long gcs = gcCount() - gcBefore;
+
+            boolean violated = benchmark.isAllocationFree() && alloc >= 0
+                && alloc / (double) ops > ALLOC_TOLERANCE_PER_OP && alloc > ALLOC_TOLERANCE_TOTAL;
+            if (violated) {
+                allocationViolations++;
+            }
+
+            System.out.println(String.format(Locale.ROOT, "%-22s %8d %8d %14.1f %12.1f %14s %6d%s",
+                benchmark.getName(), size, ops,
+                elapsed / (double) ops,
+                ops / (elapsed / 1_000_000_000.0),
+                alloc >= 0 ? String.format(Locale.ROOT, "%.1f", alloc / (double) ops) : "n/a",
+                gcs, violated ? "  ALLOC" : ""));
+        } finally {
+            benchmark.teardown();
+        }
+    }
+
+    private static boolean matches(String name, String[] filters) {
+        if (filters.length == 0) return true;
+        for (String filter : filters) {
+            if (name.contains(filter.trim())) return true;
+        }
+        return false;
+    }
+
+    private static int[] parseSizes(String arg) {
+        String[] parts = arg.split(",");
+        int[] sizes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            sizes[i] = Integer.parseInt(parts[i].trim());
+        }
+        return sizes;
+    }
+
+    // 仅统计调用线程的分配；工作线程池中的分配需结合 gc 列判断
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean ext = (com.sun.management.ThreadMXBean) bean;
+            if (ext.isThreadAllocatedMemorySupported() && ext.isThreadAllocatedMemoryEnabled()) {
+                return ext.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,114 @@
+package com.gameengine.bench;
+
+import com.gameengine.components.RenderComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.CollisionSystem;
+import com.gameengine.core.GameObject;
+import com.gameengine.core.PhysicsSystem;
+import com.gameengine.graphics.HeadlessRenderer;
+import com.gameengine.graphics.RenderSnapshot;
+import com.gameengine.graphics.SnapshotRenderer;
+import com.gameengine.math.Vector2;
+import com.gameengine.scene.ChunkGrid;
+import com.gameengine.scene.Scene;
+
+import java.util.Random;
+
+// 大世界：实体密度固定（每屏约 250 个），世界面积随实体数增长。一次操作与引擎的一帧相同：
+// 区块刷新、上一位置拷贝、Scene.update、物理、碰撞，再以窗口大小的相机 Scene.render 到快照并回放到无头渲染器。
+// 开启区块划分时各步只遍历世界中心兴趣点附近的非冻结区块与视口内的区块，开销应基本不随实体总数增长
+public class ChunkedWorldBenchmark implements Benchmark {
+    private static final int ENTITIES_PER_SCREEN = 250;
+
+    private final boolean chunked;
+    private final Vector2 interest = new Vector2();
+    private Scene scene;
+    private PhysicsSystem physics;
+    private CollisionSystem collisions;
+    private ChunkGrid grid;
+    private HeadlessRenderer display;
+    private SnapshotRenderer renderer;
+    private long tick;
+
+    public ChunkedWorldBenchmark(boolean chunked) {
+        this.chunked = chunked;
+    }
+
+    @Override
+    public String getName() {
+        return chunked ? "world.chunked" : "world.flat";
+    }
+
+    @Override
+    public boolean isAllocationFree() {
+        // 不分区块的大规模档每次操作很慢，预热期内接触缓冲区还在增长，因此只检查分区块的版本
+        return chunked;
+    }
+
+    @Override
+    public int[] getSizes() {
+        return new int[] {1000, 10000, 100000};
+    }
+
+    @Override
+    public void setup(int size) {
+        float scale = (float) Math.sqrt(Math.max(1.0, size / (double) ENTITIES_PER_SCREEN));
+        float worldW = BenchFixtures.WIDTH * scale;
+        float worldH = BenchFixtures.HEIGHT * scale;
+        scene = BenchFixtures.createScene(size, 42L);
+        display = new HeadlessRenderer(BenchFixtures.WIDTH, BenchFixtures.HEIGHT, "Bench");
+        renderer = new SnapshotRenderer(display);
+        Random random = new Random(7L);
+        for (int i = 0; i < scene.getGameObjectCount(); i++) {
+            GameObject obj = scene.getGameObject(i);
+            obj.getComponent(TransformComponent.class).setPosition(random.nextFloat() * worldW, random.nextFloat() * worldH);
+            obj.getComponent(RenderComponent.class).setRenderer(renderer);
+        }
+        physics = new PhysicsSystem(scene, (int) worldW, (int) worldH, BenchFixtures.SCHEDULER);
+        physics.setParallelThreshold(Integer.MAX_VALUE);
+        physics.setSleepingEnabled(false);
+        collisions = new CollisionSystem(scene, BenchFixtures.SCHEDULER);
+        collisions.setParallelThreshold(Integer.MAX_VALUE);
+        if (chunked) {
+            grid = new ChunkGrid(worldW, worldH, 512f);
+            interest.set(worldW / 2f, worldH / 2f);
+            grid.addInterestPoint(interest);
+            scene.setChunkGrid(grid);
+            scene.setCamera(interest.x - BenchFixtures.WIDTH / 2f, interest.y - BenchFixtures.HEIGHT / 2f,
+                BenchFixtures.WIDTH, BenchFixtures.HEIGHT);
+        }
+        tick = 0;
+    }
+
+    @Override
+    public void run() {
+        tick++;
+        if (grid != null) {
+            grid.update(tick);
+        }
+        scene.getArchetypeStore().storePreviousPositions();
+        scene.update(BenchFixtures.DT);
+        physics.update(BenchFixtures.DT);
+        collisions.update();
+
+        renderer.beginFrame();
+        scene.render();
+        renderer.endFrame();
+        RenderSnapshot frame = renderer.acquireLatest();
+        if (frame != null) {
+            display.beginFrame();
+            frame.replay(display);
+            display.endFrame();
+        }
+    }
+
+    @Override
+    public void teardown() {
+        physics.cleanup();
+        collisions.cleanup();
+        scene.clear();
+        grid = null;
+        renderer = null;
+        display = null;
+    }
+}
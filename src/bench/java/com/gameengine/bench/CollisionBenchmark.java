@@ -0,0 +1,48 @@
+package com.gameengine.bench;
+
+import com.gameengine.core.CollisionSystem;
+import com.gameengine.scene.Scene;
+
+// CollisionSystem.update：宽相位重建 + 窄相位 + 接触事件归并，分别强制串行或调度器并行窄相位
+public class CollisionBenchmark implements Benchmark {
+    private final boolean parallel;
+    private Scene scene;
+    private CollisionSystem collisions;
+
+    public CollisionBenchmark(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    @Override
+    public String getName() {
+        return parallel ? "collision.parallel" : "collision.serial";
+    }
+
+    @Override
+    public boolean isAllocationFree() {
+        return !parallel;
+    }
+
+    @Override
+    public int[] getSizes() {
+        return new int[] {100, 1000, 10000, 100000};
+    }
+
+    @Override
+    public void setup(int size) {
+        scene = BenchFixtures.createScene(size, 42L);
+        collisions = new CollisionSystem(scene, BenchFixtures.SCHEDULER);
+        collisions.setParallelThreshold(parallel ? 0 : Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void run() {
+        collisions.update();
+    }
+
+    @Override
+    public void teardown() {
+        collisions.cleanup();
+        scene.clear();
+    }
+}
@@ -0,0 +1,89 @@
+package com.gameengine.bench;
+
+import com.gameengine.core.ParticleManager;
+import com.gameengine.core.ParticleSystem;
+import com.gameengine.graphics.HeadlessRenderer;
+import com.gameengine.math.Vector2;
+
+import java.util.SplittableRandom;
+
+// 单个发射器 size 个粒子的 update / render / burst：寿命设得足够长、关闭持续发射，保证测量期间粒子数恒定；
+// burst 每次操作清空后重新喷发 size 个粒子。parallel 为 true 时粒子管理器使用共享调度器
+public class ParticleBenchmark implements Benchmark {
+    // 长时间只衰减的速度会落入非规格化浮点，每隔若干次操作重新喷发一次
+    private static final int REFILL_INTERVAL = 1024;
+
+    private final String operation;
+    private final boolean parallel;
+    private ParticleManager particles;
+    private ParticleManager.Emitter emitter;
+    private int size;
+    private int ops;
+
+    public ParticleBenchmark() {
+        this("update", false);
+    }
+
+    public ParticleBenchmark(String operation, boolean parallel) {
+        this.operation = operation;
+        this.parallel = parallel;
+    }
+
+    @Override
+    public String getName() {
+        return "particles." + operation + (parallel ? ".par" : "");
+    }
+
+    // 并行路径每次分派会创建任务对象
+    @Override
+    public boolean isAllocationFree() {
+        return !parallel;
+    }
+
+    @Override
+    public int[] getSizes() {
+        return new int[] {100, 1000, 10000, 100000};
+    }
+
+    @Override
+    public void setup(int size) {
+        this.size = size;
+        this.ops = 0;
+        ParticleSystem.Config config = ParticleSystem.Config.light();
+        config.maxParticles = size;
+        config.initialCount = 0;
+        config.burstLifeMin = 1.0e6f;
+        config.burstLifeMax = 1.0e6f;
+        HeadlessRenderer renderer = new HeadlessRenderer(BenchFixtures.WIDTH, BenchFixtures.HEIGHT, "Bench");
+        particles = new ParticleManager(renderer, size, parallel ? BenchFixtures.SCHEDULER : null);
+        emitter = particles.createEmitter(new Vector2(BenchFixtures.WIDTH / 2.0f, BenchFixtures.HEIGHT / 2.0f),
+            config, new SplittableRandom(42));
+        emitter.setActive(false);
+        emitter.burst(size);
+    }
+
+    @Override
+    public void run() {
+        switch (operation) {
+            case "render":
+                particles.render();
+                break;
+            case "burst":
+                particles.clearParticles();
+                emitter.burst(size);
+                break;
+            default:
+                if (++ops % REFILL_INTERVAL == 0) {
+                    particles.clearParticles();
+                    emitter.burst(size);
+                }
+                particles.update(BenchFixtures.DT);
+                break;
+        }
+    }
+
+    @Override
+    public void teardown() {
+        particles.clear();
+    }
+}
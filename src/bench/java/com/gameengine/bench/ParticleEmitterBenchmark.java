@@ -0,0 +1,74 @@
+package com.gameengine.bench;
+
+import com.gameengine.core.ParticleManager;
+import com.gameengine.core.ParticleSystem;
+import com.gameengine.graphics.HeadlessRenderer;
+import com.gameengine.math.Vector2;
+
+import java.util.SplittableRandom;
+
+// 大量小发射器（与 GameScene 的 AI 尾迹相同配置）的一次 update + render：
+// shared 为 true 时所有发射器共享一个 ParticleManager，否则每个发射器各自一个 ParticleSystem
+public class ParticleEmitterBenchmark implements Benchmark {
+    private final boolean shared;
+    private HeadlessRenderer renderer;
+    private ParticleManager manager;
+    private ParticleSystem[] systems;
+
+    public ParticleEmitterBenchmark(boolean shared) {
+        this.shared = shared;
+    }
+
+    @Override
+    public String getName() {
+        return shared ? "particles.emit.shared" : "particles.emit.split";
+    }
+
+    @Override
+    public boolean isAllocationFree() {
+        return true;
+    }
+
+    @Override
+    public int[] getSizes() {
+        return new int[] {10, 100, 1000};
+    }
+
+    @Override
+    public void setup(int size) {
+        renderer = new HeadlessRenderer(BenchFixtures.WIDTH, BenchFixtures.HEIGHT, "Bench");
+        SplittableRandom random = new SplittableRandom(42);
+        if (shared) {
+            manager = new ParticleManager(renderer, size * 64);
+        } else {
+            systems = new ParticleSystem[size];
+        }
+        for (int i = 0; i < size; i++) {
+            Vector2 position = new Vector2(random.nextFloat() * BenchFixtures.WIDTH, random.nextFloat() * BenchFixtures.HEIGHT);
+            if (shared) {
+                manager.createEmitter(position, ParticleSystem.Config.light(), random.split());
+            } else {
+                systems[i] = new ParticleSystem(renderer, position, ParticleSystem.Config.light(), random.split());
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        if (shared) {
+            manager.update(BenchFixtures.DT);
+            manager.render();
+        } else {
+            for (ParticleSystem system : systems) {
+                system.update(BenchFixtures.DT);
+                system.render();
+            }
+        }
+    }
+
+    @Override
+    public void teardown() {
+        manager = null;
+        systems = null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.gameengine.bench;
+
+import com.gameengine.core.PhysicsKernel;
+import com.gameengine.core.PhysicsSystem;
+import com.gameengine.scene.Scene;
+
+// PhysicsSystem.update：积分 + 边界处理，一次操作 = 一个物理步；分别强制调用线程内核或调度器并行，
+// 并可指定标量/向量内核（向量内核不可用时回退标量，名称后缀标明实际使用的内核）
+public class PhysicsBenchmark implements Benchmark {
+    private final boolean parallel;
+    private final String kernelName;
+    private final PhysicsKernel kernel;
+    private Scene scene;
+    private PhysicsSystem physics;
+
+    public PhysicsBenchmark(boolean parallel) {
+        this(parallel, "scalar");
+    }
+
+    public PhysicsBenchmark(boolean parallel, String kernelName) {
+        this.parallel = parallel;
+        this.kernelName = kernelName;
+        this.kernel = PhysicsKernel.create(kernelName);
+    }
+
+    @Override
+    public String getName() {
+        String name = parallel ? "physics.parallel" : "physics.serial";
+        return "scalar".equals(kernelName) ? name : name + "." + kernel.getName();
+    }
+
+    @Override
+    public boolean isAllocationFree() {
+        // 向量内核只有被 C2 内联为向量指令后才不分配，预热期间解释/C1 执行会装箱，因此不做检查
+        return !parallel && "scalar".equals(kernel.getName());
+    }
+
+    @Override
+    public int[] getSizes() {
+        return new int[] {100, 1000, 10000, 100000};
+    }
+
+    @Override
+    public void setup(int size) {
+        scene = BenchFixtures.createScene(size, 42L);
+        physics = new PhysicsSystem(scene, BenchFixtures.WIDTH, BenchFixtures.HEIGHT, BenchFixtures.SCHEDULER);
+        physics.setParallelThreshold(parallel ? 0 : Integer.MAX_VALUE);
+        physics.setKernel(kernel);
+        // 摩擦会让实体逐渐减速入睡，关闭休眠以始终测量全部实体的积分开销
+        physics.setSleepingEnabled(false);
+    }
+
+    @Override
+    public void run() {
+        physics.update(BenchFixtures.DT);
+    }
+
+    @Override
+    public void teardown() {
+        physics.cleanup();
+        scene.clear();
+    }
+}
@@ -0,0 +1,65 @@
+package com.gameengine.bench;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.core.PhysicsSystem;
+import com.gameengine.scene.Scene;
+import com.gameengine.scene.SceneQuery;
+
+// 静止人群：实体速度归零，每步轮流轻推 0.1% 的实体（减速后重新入睡），一次操作 = 一个物理步；
+// 对比开启休眠（只积分清醒段）与关闭休眠（全部积分）
+public class PhysicsSleepBenchmark implements Benchmark {
+    private final boolean sleeping;
+    private Scene scene;
+    private PhysicsSystem physics;
+    private SceneQuery<PhysicsComponent> bodies;
+    private int nextWake;
+
+    public PhysicsSleepBenchmark(boolean sleeping) {
+        this.sleeping = sleeping;
+    }
+
+    @Override
+    public String getName() {
+        return sleeping ? "physics.idle.sleep" : "physics.idle.nosleep";
+    }
+
+    @Override
+    public boolean isAllocationFree() {
+        return true;
+    }
+
+    @Override
+    public int[] getSizes() {
+        return new int[] {100, 1000, 10000, 100000};
+    }
+
+    @Override
+    public void setup(int size) {
+        scene = BenchFixtures.createScene(size, 42L);
+        bodies = scene.query(PhysicsComponent.class);
+        for (int i = 0; i < bodies.size(); i++) {
+            bodies.get(i).setVelocity(0f, 0f);
+        }
+        physics = new PhysicsSystem(scene, BenchFixtures.WIDTH, BenchFixtures.HEIGHT, BenchFixtures.SCHEDULER);
+        physics.setParallelThreshold(Integer.MAX_VALUE);
+        physics.setSleepingEnabled(sleeping);
+        nextWake = 0;
+    }
+
+    @Override
+    public void run() {
+        int n = bodies.size();
+        int wake = Math.max(1, n / 1000);
+        for (int k = 0; k < wake; k++) {
+            bodies.get(nextWake).setVelocity(2f, -2f);
+            nextWake = (nextWake + 1) % n;
+        }
+        physics.update(BenchFixtures.DT);
+    }
+
+    @Override
+    public void teardown() {
+        physics.cleanup();
+        scene.clear();
+    }
+}
@@ -0,0 +1,75 @@
+package com.gameengine.bench;
+
+import com.gameengine.input.InputManager;
+import com.gameengine.recording.RecordingConfig;
+import com.gameengine.recording.RecordingService;
+import com.gameengine.recording.RecordingStorage;
+import com.gameengine.scene.Scene;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+// RecordingService 关键帧序列化：关键帧间隔为 0，每次 update 都写一帧；写入端丢弃数据，只测序列化
+public class RecordingBenchmark implements Benchmark {
+    private static final class NullStorage implements RecordingStorage {
+        @Override
+        public void openWriter(String path) {
+        }
+
+        @Override
+        public void writeLine(String line) {
+        }
+
+        @Override
+        public void closeWriter() {
+        }
+
+        @Override
+        public Iterable<String> readLines(String path) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<File> listRecordings() {
+            return Collections.emptyList();
+        }
+    }
+
+    private Scene scene;
+    private RecordingService service;
+    private InputManager input;
+
+    @Override
+    public String getName() {
+        return "recording.keyframe";
+    }
+
+    @Override
+    public int[] getSizes() {
+        return new int[] {100, 1000, 10000, 100000};
+    }
+
+    @Override
+    public void setup(int size) throws Exception {
+        scene = BenchFixtures.createScene(size, 42L);
+        input = InputManager.getInstance();
+        RecordingConfig config = new RecordingConfig("bench.jsonl");
+        config.keyframeIntervalSec = 0.0f;
+        service = new RecordingService(config, new NullStorage());
+        service.start(scene, BenchFixtures.WIDTH, BenchFixtures.HEIGHT);
+        // 越过录制暖机时间
+        service.update(1.0, scene, input);
+    }
+
+    @Override
+    public void run() {
+        service.update(BenchFixtures.DT, scene, input);
+    }
+
+    @Override
+    public void teardown() {
+        service.stop();
+        scene.clear();
+    }
+}
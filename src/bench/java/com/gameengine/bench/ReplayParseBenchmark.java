@@ -0,0 +1,79 @@
+package com.gameengine.bench;
+
+import com.gameengine.core.GameEngine;
+import com.gameengine.example.ReplayScene;
+import com.gameengine.graphics.RenderBackend;
+import com.gameengine.recording.FileRecordingStorage;
+import com.gameengine.recording.RecordingConfig;
+import com.gameengine.recording.RecordingService;
+import com.gameengine.scene.Scene;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// ReplayScene 解析录制文件并按首个关键帧重建对象；文件为 size 个实体、若干关键帧
+public class ReplayParseBenchmark implements Benchmark {
+    private static final int KEYFRAMES = 10;
+
+    // 写线程关闭文件时计数，确保解析前录制已完整落盘
+    private static final class ClosingStorage extends FileRecordingStorage {
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void closeWriter() {
+            super.closeWriter();
+            closed.countDown();
+        }
+    }
+
+    private GameEngine engine;
+    private File file;
+
+    @Override
+    public String getName() {
+        return "replay.parse";
+    }
+
+    @Override
+    public int[] getSizes() {
+        return new int[] {100, 1000, 10000, 100000};
+    }
+
+    @Override
+    public void setup(int size) throws Exception {
+        engine = new GameEngine(BenchFixtures.WIDTH, BenchFixtures.HEIGHT, "Bench", RenderBackend.HEADLESS);
+        file = File.createTempFile("bench-replay-", ".jsonl");
+        file.deleteOnExit();
+
+        Scene scene = BenchFixtures.createScene(size, 42L);
+        RecordingConfig config = new RecordingConfig(file.getPath());
+        config.keyframeIntervalSec = 0.0f;
+        config.queueCapacity = KEYFRAMES + 4;
+        ClosingStorage storage = new ClosingStorage();
+        RecordingService service = new RecordingService(config, storage);
+        service.start(scene, BenchFixtures.WIDTH, BenchFixtures.HEIGHT);
+        for (int i = 0; i < KEYFRAMES; i++) {
+            service.update(0.5, scene, engine.getInputManager());
+        }
+        service.stop();
+        if (!storage.closed.await(60, TimeUnit.SECONDS)) {
+            throw new IOException("录制文件写入超时: " + file.getPath());
+        }
+        scene.clear();
+    }
+
+    @Override
+    public void run() {
+        ReplayScene replay = new ReplayScene(engine, file.getPath());
+        replay.initialize();
+        replay.clear();
+    }
+
+    @Override
+    public void teardown() {
+        engine.cleanup();
+        file.delete();
+    }
+}
@@ -0,0 +1,44 @@
+package com.gameengine.bench;
+
+import com.gameengine.scene.Scene;
+
+import java.util.Random;
+
+// Scene.update 在对象持续增删下的开销：每次操作销毁约 1% 的对象并补充同等数量的新对象
+public class SceneChurnBenchmark implements Benchmark {
+    private Scene scene;
+    private Random random;
+    private int churn;
+
+    @Override
+    public String getName() {
+        return "scene.update.churn";
+    }
+
+    @Override
+    public int[] getSizes() {
+        return new int[] {100, 1000, 10000, 100000};
+    }
+
+    @Override
+    public void setup(int size) {
+        scene = BenchFixtures.createScene(size, 42L);
+        random = new Random(7L);
+        churn = Math.max(1, size / 100);
+    }
+
+    @Override
+    public void run() {
+        int total = scene.getGameObjectCount();
+        for (int i = 0; i < churn && total > 0; i++) {
+            scene.getGameObject(random.nextInt(total)).setActive(false);
+            scene.addGameObject(BenchFixtures.createAIPlayer(random));
+        }
+        scene.update(BenchFixtures.DT);
+    }
+
+    @Override
+    public void teardown() {
+        scene.clear();
+    }
+}
@@ -0,0 +1,121 @@
+package com.gameengine.components;
+
+import com.gameengine.core.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 碰撞体：圆形或轴对齐包围盒，中心 = Transform 位置 + 偏移。
+// layer/mask 为位掩码，双方互相包含对方的层时才检测；id 用于在帧之间跟踪接触对。
+public class ColliderComponent extends Component<ColliderComponent> {
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    public enum Shape {
+        CIRCLE,
+        AABB
+    }
+
+    private final int id;
+    private Shape shape;
+    private float radius;
+    private float halfWidth;
+    private float halfHeight;
+    private float offsetX;
+    private float offsetY;
+    private int layer;
+    private int mask;
+
+    public ColliderComponent() {
+        this.id = NEXT_ID.getAndIncrement();
+        this.shape = Shape.CIRCLE;
+        this.radius = 10f;
+        this.halfWidth = 10f;
+        this.halfHeight = 10f;
+        this.layer = 1;
+        this.mask = -1;
+    }
+
+    public static ColliderComponent circle(float radius) {
+        ColliderComponent collider = new ColliderComponent();
+        collider.setCircle(radius);
+        return collider;
+    }
+
+    public static ColliderComponent box(float width, float height) {
+        ColliderComponent collider = new ColliderComponent();
+        collider.setBox(width, height);
+        return collider;
+    }
+
+    @Override
+    public void initialize() {
+    }
+
+    @Override
+    public void render() {
+    }
+
+    public void setCircle(float radius) {
+        this.shape = Shape.CIRCLE;
+        this.radius = Math.max(0f, radius);
+    }
+
+    public void setBox(float width, float height) {
+        this.shape = Shape.AABB;
+        this.halfWidth = Math.max(0f, width) * 0.5f;
+        this.halfHeight = Math.max(0f, height) * 0.5f;
+    }
+
+    public void setOffset(float offsetX, float offsetY) {
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+    }
+
+    public void setLayer(int layer) {
+        this.layer = layer;
+    }
+
+    public void setMask(int mask) {
+        this.mask = mask;
+    }
+
+    // 宽相位使用的包围半径（中心到最远边界在单轴上的距离）
+    public float getExtent() {
+        return shape == Shape.CIRCLE ? radius : Math.max(halfWidth, halfHeight);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public Shape getShape() {
+        return shape;
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+
+    public float getHalfWidth() {
+        return halfWidth;
+    }
+
+    public float getHalfHeight() {
+        return halfHeight;
+    }
+
+    public float getOffsetX() {
+        return offsetX;
+    }
+
+    public float getOffsetY() {
+        return offsetY;
+    }
+
+    public int getLayer() {
+        return layer;
+    }
+
+    public int getMask() {
+        return mask;
+    }
+}
@@ -2,8 +2,10 @@ package com.gameengine.components;
 
 import com.gameengine.core.Component;
 import com.gameengine.math.Vector2;
+import com.gameengine.scene.Archetype;
 
 public class PhysicsComponent extends Component<PhysicsComponent> {
+    // 未入场景时使用本地字段；入场景后状态存放在 Archetype 的物理列
     private Vector2 velocity;
     private Vector2 acceleration;
     private float mass;
@@ -33,71 +35,205 @@ public class PhysicsComponent extends Component<PhysicsComponent> {
     public void render() {
     }
     
+    private Archetype archetype() {
+        Archetype a = owner != null ? owner.getArchetype() : null;
+        return a != null && a.hasPhysics() ? a : null;
+    }
+    
+    // 改变运动状态的写入同时请求唤醒：只写本行的计数，由 PhysicsSystem 在下一步开始时统一唤醒，
+    // 因此可以在并行避让等多线程写各自对象时调用
+    private Archetype awake() {
+        Archetype a = archetype();
+        if (a != null) {
+            a.requestWake(owner.getArchetypeRow());
+        }
+        return a;
+    }
+    
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+        Archetype a = awake();
+        if (a != null) {
+            a.physicsEnabled[owner.getArchetypeRow()] = enabled;
+        }
+    }
+    
     public void applyForce(Vector2 force) {
-        if (mass > 0) {
-            acceleration = acceleration.add(force.multiply(1.0f / mass));
+        float m = getMass();
+        if (m > 0) {
+            Archetype a = awake();
+            if (a != null) {
+                int row = owner.getArchetypeRow();
+                a.accX[row] += force.x / m;
+                a.accY[row] += force.y / m;
+            } else {
+                acceleration.addScaledLocal(force, 1.0f / m);
+            }
         }
     }
     
     public void applyImpulse(Vector2 impulse) {
-        if (mass > 0) {
-            velocity = velocity.add(impulse.multiply(1.0f / mass));
+        float m = getMass();
+        if (m > 0) {
+            Archetype a = awake();
+            if (a != null) {
+                int row = owner.getArchetypeRow();
+                a.velX[row] += impulse.x / m;
+                a.velY[row] += impulse.y / m;
+            } else {
+                velocity.addScaledLocal(impulse, 1.0f / m);
+            }
         }
     }
     
     public void setVelocity(Vector2 velocity) {
-        this.velocity = new Vector2(velocity);
+        setVelocity(velocity.x, velocity.y);
     }
     
     public void setVelocity(float x, float y) {
-        this.velocity = new Vector2(x, y);
+        Archetype a = awake();
+        if (a != null) {
+            int row = owner.getArchetypeRow();
+            a.velX[row] = x;
+            a.velY[row] = y;
+        } else {
+            velocity.x = x;
+            velocity.y = y;
+        }
     }
     
     public void setAcceleration(Vector2 acceleration) {
-        this.acceleration = new Vector2(acceleration);
+        setAcceleration(acceleration.x, acceleration.y);
+    }
+    
+    public void setAcceleration(float x, float y) {
+        Archetype a = awake();
+        if (a != null) {
+            int row = owner.getArchetypeRow();
+            a.accX[row] = x;
+            a.accY[row] = y;
+        } else {
+            acceleration.x = x;
+            acceleration.y = y;
+        }
     }
     
     public void addVelocity(Vector2 delta) {
-        this.velocity = velocity.add(delta);
+        Archetype a = awake();
+        if (a != null) {
+            int row = owner.getArchetypeRow();
+            a.velX[row] += delta.x;
+            a.velY[row] += delta.y;
+        } else {
+            velocity.addLocal(delta);
+        }
     }
     
     public void setGravity(Vector2 gravity) {
-        this.gravity = new Vector2(gravity);
+        setGravity(gravity.x, gravity.y);
+    }
+    
+    public void setGravity(float x, float y) {
+        Archetype a = awake();
+        if (a != null) {
+            int row = owner.getArchetypeRow();
+            a.gravX[row] = x;
+            a.gravY[row] = y;
+        } else {
+            this.gravity.x = x;
+            this.gravity.y = y;
+        }
     }
     
     public void setUseGravity(boolean useGravity) {
-        this.useGravity = useGravity;
+        Archetype a = awake();
+        if (a != null) {
+            a.useGravity[owner.getArchetypeRow()] = useGravity;
+        } else {
+            this.useGravity = useGravity;
+        }
     }
     
     public void setFriction(float friction) {
-        this.friction = Math.max(0, Math.min(1, friction));
+        float clamped = Math.max(0, Math.min(1, friction));
+        Archetype a = archetype();
+        if (a != null) {
+            a.friction[owner.getArchetypeRow()] = clamped;
+        } else {
+            this.friction = clamped;
+        }
     }
     
     public void setMass(float mass) {
-        this.mass = Math.max(0.1f, mass);
+        float clamped = Math.max(0.1f, mass);
+        Archetype a = archetype();
+        if (a != null) {
+            a.mass[owner.getArchetypeRow()] = clamped;
+        } else {
+            this.mass = clamped;
+        }
+    }
+    
+    // 只清除运动状态；质量、摩擦、重力属于创建时的配置，复用时保留
+    @Override
+    public void reset() {
+        super.reset();
+        velocity.x = 0;
+        velocity.y = 0;
+        acceleration.x = 0;
+        acceleration.y = 0;
     }
     
     public Vector2 getVelocity() {
+        Archetype a = archetype();
+        if (a != null) {
+            int row = owner.getArchetypeRow();
+            return new Vector2(a.velX[row], a.velY[row]);
+        }
         return new Vector2(velocity);
     }
     
+    // 写入调用方提供的向量，避免每帧分配
+    public Vector2 getVelocity(Vector2 out) {
+        Archetype a = archetype();
+        if (a != null) {
+            int row = owner.getArchetypeRow();
+            return out.set(a.velX[row], a.velY[row]);
+        }
+        return out.set(velocity);
+    }
+    
     public Vector2 getAcceleration() {
+        Archetype a = archetype();
+        if (a != null) {
+            int row = owner.getArchetypeRow();
+            return new Vector2(a.accX[row], a.accY[row]);
+        }
         return new Vector2(acceleration);
     }
     
     public float getMass() {
-        return mass;
+        Archetype a = archetype();
+        return a != null ? a.mass[owner.getArchetypeRow()] : mass;
     }
     
     public float getFriction() {
-        return friction;
+        Archetype a = archetype();
+        return a != null ? a.friction[owner.getArchetypeRow()] : friction;
     }
     
     public boolean isUseGravity() {
-        return useGravity;
+        Archetype a = archetype();
+        return a != null ? a.useGravity[owner.getArchetypeRow()] : useGravity;
     }
     
     public Vector2 getGravity() {
+        Archetype a = archetype();
+        if (a != null) {
+            int row = owner.getArchetypeRow();
+            return new Vector2(a.gravX[row], a.gravY[row]);
+        }
         return new Vector2(gravity);
     }
 }
@@ -10,6 +10,8 @@ public class RenderComponent extends Component<RenderComponent> {
     private Vector2 size;
     private Color color;
     private boolean visible;
+    // 缓存所属对象的 Transform，避免每帧查找
+    private TransformComponent transform;
     
     public enum RenderType {
         RECTANGLE,
@@ -56,30 +58,40 @@ public class RenderComponent extends Component<RenderComponent> {
             return;
         }
         
-        TransformComponent transform = owner.getComponent(TransformComponent.class);
-        if (transform == null) {
-            return;
+        if (transform == null || transform.getOwner() != owner) {
+            transform = owner.getComponent(TransformComponent.class);
+            if (transform == null) {
+                return;
+            }
         }
         
-        Vector2 position = transform.getPosition();
+        float x = transform.getRenderX();
+        float y = transform.getRenderY();
         
         switch (renderType) {
             case RECTANGLE:
-                renderer.drawRect(position.x, position.y, size.x, size.y, 
+                renderer.drawRect(x, y, size.x, size.y, 
                                 color.r, color.g, color.b, color.a);
                 break;
             case CIRCLE:
-                renderer.drawCircle(position.x + size.x/2, position.y + size.y/2, 
+                renderer.drawCircle(x + size.x/2, y + size.y/2, 
                                   size.x/2, 16, color.r, color.g, color.b, color.a);
                 break;
             case LINE:
-                renderer.drawLine(position.x, position.y, 
-                                position.x + size.x, position.y + size.y,
+                renderer.drawLine(x, y, 
+                                x + size.x, y + size.y,
                                 color.r, color.g, color.b, color.a);
                 break;
         }
     }
     
+    @Override
+    public void reset() {
+        super.reset();
+        this.visible = true;
+        this.transform = null;
+    }
+    
     public void setRenderer(IRenderer renderer) {
         this.renderer = renderer;
     }
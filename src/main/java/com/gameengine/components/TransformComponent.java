@@ -2,8 +2,11 @@ package com.gameengine.components;
 
 import com.gameengine.core.Component;
 import com.gameengine.math.Vector2;
+import com.gameengine.scene.Archetype;
+import com.gameengine.scene.Scene;
 
 public class TransformComponent extends Component<TransformComponent> {
+    // 未入场景时使用本地字段；入场景后位置存放在 Archetype 的 posX/posY 列
     private Vector2 position;
     private Vector2 scale;
     private float rotation;
@@ -33,12 +36,17 @@ public class TransformComponent extends Component<TransformComponent> {
     public void render() {
     }
     
+    private Archetype archetype() {
+        return owner != null ? owner.getArchetype() : null;
+    }
+    
     public void moveTo(Vector2 newPosition) {
-        this.position = new Vector2(newPosition);
+        setPosition(newPosition);
     }
     
+    // 与 setPosition 走同一路径：唤醒休眠物体并重新归入区块
     public void translate(Vector2 delta) {
-        this.position = position.add(delta);
+        setPosition(getX() + delta.x, getY() + delta.y);
     }
     
     public void rotate(float angle) {
@@ -50,19 +58,93 @@ public class TransformComponent extends Component<TransformComponent> {
     }
     
     public void scale(Vector2 scaleFactor) {
-        this.scale = new Vector2(this.scale.x * scaleFactor.x, this.scale.y * scaleFactor.y);
+        this.scale.x *= scaleFactor.x;
+        this.scale.y *= scaleFactor.y;
     }
     
     public void setScale(Vector2 newScale) {
-        this.scale = new Vector2(newScale);
+        this.scale.set(newScale);
     }
     
     public Vector2 getPosition() {
-        return new Vector2(position);
+        return new Vector2(getX(), getY());
+    }
+    
+    // 写入调用方提供的向量，避免每帧分配
+    public Vector2 getPosition(Vector2 out) {
+        return out.set(getX(), getY());
+    }
+    
+    public float getX() {
+        Archetype a = archetype();
+        return a != null ? a.posX[owner.getArchetypeRow()] : position.x;
+    }
+    
+    public float getY() {
+        Archetype a = archetype();
+        return a != null ? a.posY[owner.getArchetypeRow()] : position.y;
+    }
+    
+    // 插值后的世界坐标：在上一 tick 与当前 tick 之间按场景的插值系数混合
+    public float getInterpolatedX() {
+        Archetype a = archetype();
+        if (a == null) return position.x;
+        int row = owner.getArchetypeRow();
+        float alpha = owner.getScene() != null ? owner.getScene().getInterpolationAlpha() : 1.0f;
+        return a.prevX[row] + (a.posX[row] - a.prevX[row]) * alpha;
+    }
+    
+    public float getInterpolatedY() {
+        Archetype a = archetype();
+        if (a == null) return position.y;
+        int row = owner.getArchetypeRow();
+        float alpha = owner.getScene() != null ? owner.getScene().getInterpolationAlpha() : 1.0f;
+        return a.prevY[row] + (a.posY[row] - a.prevY[row]) * alpha;
+    }
+    
+    // 渲染用位置：插值后的世界坐标减去场景相机偏移
+    public float getRenderX() {
+        Scene scene = owner != null ? owner.getScene() : null;
+        return getInterpolatedX() - (scene != null ? scene.getCameraX() : 0f);
+    }
+    
+    public float getRenderY() {
+        Scene scene = owner != null ? owner.getScene() : null;
+        return getInterpolatedY() - (scene != null ? scene.getCameraY() : 0f);
     }
     
     public void setPosition(Vector2 position) {
-        this.position = new Vector2(position);
+        setPosition(position.x, position.y);
+    }
+    
+    public void setPosition(float x, float y) {
+        Archetype a = archetype();
+        if (a != null) {
+            int row = owner.getArchetypeRow();
+            a.posX[row] = x;
+            a.posY[row] = y;
+            // 被移动的休眠物体需要唤醒，下一步重新做边界处理
+            if (a.hasPhysics()) {
+                a.requestWake(row);
+            }
+            Scene scene = owner.getScene();
+            if (scene != null && scene.getChunkGrid() != null) {
+                scene.getChunkGrid().onMoved(owner);
+            }
+        } else {
+            position.x = x;
+            position.y = y;
+        }
+    }
+    
+    @Override
+    public void reset() {
+        super.reset();
+        position.x = 0;
+        position.y = 0;
+        scale.x = 1;
+        scale.y = 1;
+        rotation = 0;
     }
     
     public Vector2 getScale() {
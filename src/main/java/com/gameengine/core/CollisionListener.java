@@ -0,0 +1,15 @@
+package com.gameengine.core;
+
+import com.gameengine.components.ColliderComponent;
+
+// 接触事件回调，均在仿真线程上按确定顺序派发；a 为 id 较小的一方
+public interface CollisionListener {
+    default void onCollisionEnter(ColliderComponent a, ColliderComponent b) {
+    }
+
+    default void onCollisionStay(ColliderComponent a, ColliderComponent b) {
+    }
+
+    default void onCollisionExit(ColliderComponent a, ColliderComponent b) {
+    }
+}
@@ -0,0 +1,368 @@
+package com.gameengine.core;
+
+import com.gameengine.components.ColliderComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.scene.ChunkGrid;
+import com.gameengine.scene.Scene;
+import com.gameengine.scene.SceneQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 碰撞系统：每 tick 收集碰撞体，空间哈希宽相位找候选对，窄相位（数量多时分批并行）判定接触，
+// 再与上一 tick 的接触集合（按 id 对排序）归并，派发 enter/stay/exit 事件
+public class CollisionSystem {
+    private static final ComponentType<TransformComponent> TRANSFORM = ComponentType.of(TransformComponent.class);
+    private static final ComponentType<ColliderComponent> COLLIDER = ComponentType.of(ColliderComponent.class);
+    // 并行窄相位每块处理的碰撞体数；块数随数量增长，由调度器分派到工作线程
+    private static final int CHUNK_SIZE = 128;
+
+    // 每批窄相位的输出，批内按 i 递增追加 (i, j) 下标对
+    private static final class PairBuffer {
+        int[] a = new int[64];
+        int[] b = new int[64];
+        int count;
+        final int[] buckets = new int[9];
+
+        void add(int i, int j) {
+            if (count == a.length) {
+                a = Arrays.copyOf(a, count * 2);
+                b = Arrays.copyOf(b, count * 2);
+            }
+            a[count] = i;
+            b[count] = j;
+            count++;
+        }
+    }
+
+    // 一 tick 的接触集合：按 key（两个碰撞体 id 拼成的 long）升序
+    private static final class ContactSet {
+        long[] keys = new long[64];
+        ColliderComponent[] a = new ColliderComponent[64];
+        ColliderComponent[] b = new ColliderComponent[64];
+        int count;
+
+        void ensureCapacity(int capacity) {
+            if (keys.length < capacity) {
+                int size = Math.max(capacity, keys.length * 2);
+                keys = Arrays.copyOf(keys, size);
+                a = Arrays.copyOf(a, size);
+                b = Arrays.copyOf(b, size);
+            }
+        }
+
+        void clear() {
+            Arrays.fill(a, 0, count, null);
+            Arrays.fill(b, 0, count, null);
+            count = 0;
+        }
+    }
+
+    private final Scene scene;
+    private final SceneQuery<ColliderComponent> colliders;
+    private final List<CollisionListener> listeners;
+    // 引擎共享调度器；为 null 时窄相位始终在调用线程上执行
+    private final JobScheduler scheduler;
+    private PairBuffer[] buffers;
+    private int bufferCount;
+    private int maxParallelism;
+    private SpatialHash grid;
+    private float minCellSize;
+    private int parallelThreshold;
+
+    private ColliderComponent[] bodies;
+    private float[] centerX;
+    private float[] centerY;
+    private int bodyCount;
+    private float maxExtent;
+
+    private ContactSet previous;
+    private ContactSet current;
+
+    public CollisionSystem(Scene scene) {
+        this(scene, null);
+    }
+
+    public CollisionSystem(Scene scene, JobScheduler scheduler) {
+        this.scene = scene;
+        this.colliders = scene.query(ColliderComponent.class);
+        this.listeners = new ArrayList<>();
+        this.scheduler = scheduler;
+        this.buffers = new PairBuffer[] { new PairBuffer() };
+        this.maxParallelism = 0;
+        this.minCellSize = 64f;
+        this.grid = new SpatialHash(minCellSize);
+        this.parallelThreshold = 512;
+        this.bodies = new ColliderComponent[64];
+        this.centerX = new float[64];
+        this.centerY = new float[64];
+        this.previous = new ContactSet();
+        this.current = new ContactSet();
+    }
+
+    public void addListener(CollisionListener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(CollisionListener listener) {
+        listeners.remove(listener);
+    }
+
+    // 碰撞体数量达到该值时窄相位分块交给调度器并行
+    public void setParallelThreshold(int threshold) {
+        this.parallelThreshold = Math.max(0, threshold);
+    }
+
+    // 窄相位最多同时占用的工作线程数（<= 0 表示不限制）
+    public void setMaxParallelism(int maxParallelism) {
+        this.maxParallelism = maxParallelism;
+    }
+
+    // 宽相位格子的最小边长；实际边长不小于最大碰撞体直径
+    public void setMinCellSize(float minCellSize) {
+        this.minCellSize = Math.max(1f, minCellSize);
+    }
+
+    public int getContactCount() {
+        return previous.count;
+    }
+
+    public void update() {
+        gatherBodies();
+        findContacts();
+        dispatchEvents();
+    }
+
+    private void gatherBodies() {
+        int n = colliders.size();
+        if (bodies.length < n) {
+            int capacity = Math.max(n, bodies.length * 2);
+            bodies = new ColliderComponent[capacity];
+            centerX = new float[capacity];
+            centerY = new float[capacity];
+        }
+        int previousCount = bodyCount;
+        bodyCount = 0;
+        maxExtent = 0f;
+        ChunkGrid chunks = scene.getChunkGrid();
+        if (chunks == null) {
+            for (int i = 0; i < n; i++) {
+                gatherBody(colliders.get(i), colliders.getGameObject(i));
+            }
+        } else {
+            // 冻结区块里的物体不动，也不参与检测；只收集非冻结区块的成员
+            for (int i = 0; i < chunks.getLiveChunkCount(); i++) {
+                int chunk = chunks.getLiveChunk(i);
+                for (int k = 0; k < chunks.getMemberCount(chunk); k++) {
+                    GameObject owner = chunks.getMember(chunk, k);
+                    ColliderComponent collider = owner.getComponent(COLLIDER);
+                    if (collider != null) {
+                        gatherBody(collider, owner);
+                    }
+                }
+            }
+        }
+        if (bodyCount < previousCount) {
+            Arrays.fill(bodies, bodyCount, previousCount, null);
+        }
+
+        // 只要格子边长不小于两倍最大外延，相交的两个碰撞体必然落在相邻格内
+        float cellSize = Math.max(minCellSize, maxExtent * 2f);
+        if (grid.getCellSize() < cellSize || grid.getCellSize() > cellSize * 4f) {
+            grid = new SpatialHash(cellSize);
+        }
+        grid.build(centerX, centerY, bodyCount);
+    }
+
+    private void gatherBody(ColliderComponent collider, GameObject owner) {
+        if (!collider.isEnabled() || !owner.isActive()) return;
+        TransformComponent transform = owner.getComponent(TRANSFORM);
+        if (transform == null) return;
+        bodies[bodyCount] = collider;
+        centerX[bodyCount] = transform.getX() + collider.getOffsetX();
+        centerY[bodyCount] = transform.getY() + collider.getOffsetY();
+        maxExtent = Math.max(maxExtent, collider.getExtent());
+        bodyCount++;
+    }
+    
+    private void findContacts() {
+        boolean parallel = scheduler != null && bodyCount >= parallelThreshold;
+        int chunks = parallel ? (bodyCount + CHUNK_SIZE - 1) / CHUNK_SIZE : 1;
+        ensureBuffers(chunks);
+        for (int t = 0; t < bufferCount; t++) {
+            buffers[t].count = 0;
+        }
+
+        if (chunks == 1) {
+            narrowphase(0, bodyCount, buffers[0]);
+        } else {
+            // 每块写自己的缓冲区，块间无共享写入；按块序合并后结果与串行一致
+            scheduler.parallelFor(chunks, 1, maxParallelism, (first, last) -> {
+                for (int t = first; t < last; t++) {
+                    int start = t * CHUNK_SIZE;
+                    narrowphase(start, Math.min(start + CHUNK_SIZE, bodyCount), buffers[t]);
+                }
+            });
+        }
+
+        int total = 0;
+        for (int t = 0; t < chunks; t++) {
+            total += buffers[t].count;
+        }
+        current.ensureCapacity(total);
+        int n = 0;
+        for (int t = 0; t < chunks; t++) {
+            PairBuffer buffer = buffers[t];
+            for (int k = 0; k < buffer.count; k++) {
+                ColliderComponent a = bodies[buffer.a[k]];
+                ColliderComponent b = bodies[buffer.b[k]];
+                if (a.getId() > b.getId()) {
+                    ColliderComponent swap = a;
+                    a = b;
+                    b = swap;
+                }
+                current.keys[n] = ((long) a.getId() << 32) | (b.getId() & 0xffffffffL);
+                current.a[n] = a;
+                current.b[n] = b;
+                n++;
+            }
+        }
+        current.count = n;
+        sortContacts(current, 0, n - 1);
+    }
+
+    private void ensureBuffers(int chunks) {
+        if (buffers.length < chunks) {
+            buffers = Arrays.copyOf(buffers, Math.max(chunks, buffers.length * 2));
+        }
+        for (int t = bufferCount; t < chunks; t++) {
+            if (buffers[t] == null) {
+                buffers[t] = new PairBuffer();
+            }
+        }
+        bufferCount = Math.max(bufferCount, chunks);
+    }
+
+    // 只与下标更大的候选比较，保证每对只产生一次
+    private void narrowphase(int start, int end, PairBuffer out) {
+        int[] buckets = out.buckets;
+        for (int i = start; i < end; i++) {
+            ColliderComponent a = bodies[i];
+            int bucketCount = grid.gatherNeighbourBuckets(centerX[i], centerY[i], buckets);
+            for (int q = 0; q < bucketCount; q++) {
+                int bucketEnd = grid.bucketEnd(buckets[q]);
+                for (int k = grid.bucketBegin(buckets[q]); k < bucketEnd; k++) {
+                    int j = grid.entryAt(k);
+                    if (j <= i) continue;
+                    ColliderComponent b = bodies[j];
+                    if ((a.getLayer() & b.getMask()) == 0 || (b.getLayer() & a.getMask()) == 0) continue;
+                    if (overlaps(a, centerX[i], centerY[i], b, centerX[j], centerY[j])) {
+                        out.add(i, j);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean overlaps(ColliderComponent a, float ax, float ay, ColliderComponent b, float bx, float by) {
+        if (a.getShape() == ColliderComponent.Shape.CIRCLE && b.getShape() == ColliderComponent.Shape.CIRCLE) {
+            float dx = ax - bx;
+            float dy = ay - by;
+            float r = a.getRadius() + b.getRadius();
+            return dx * dx + dy * dy < r * r;
+        }
+        if (a.getShape() == ColliderComponent.Shape.AABB && b.getShape() == ColliderComponent.Shape.AABB) {
+            return Math.abs(ax - bx) < a.getHalfWidth() + b.getHalfWidth()
+                && Math.abs(ay - by) < a.getHalfHeight() + b.getHalfHeight();
+        }
+        if (a.getShape() == ColliderComponent.Shape.CIRCLE) {
+            return circleOverlapsBox(ax, ay, a.getRadius(), bx, by, b.getHalfWidth(), b.getHalfHeight());
+        }
+        return circleOverlapsBox(bx, by, b.getRadius(), ax, ay, a.getHalfWidth(), a.getHalfHeight());
+    }
+
+    // 圆心夹到盒内得到最近点，比较到圆心的距离
+    private static boolean circleOverlapsBox(float cx, float cy, float r, float bx, float by, float hw, float hh) {
+        float nearestX = Math.max(bx - hw, Math.min(cx, bx + hw));
+        float nearestY = Math.max(by - hh, Math.min(cy, by + hh));
+        float dx = cx - nearestX;
+        float dy = cy - nearestY;
+        return dx * dx + dy * dy < r * r;
+    }
+
+    // 两个集合都按 key 有序，一次归并得出新增、持续与结束的接触
+    private void dispatchEvents() {
+        int p = 0;
+        int c = 0;
+        while (p < previous.count || c < current.count) {
+            long prevKey = p < previous.count ? previous.keys[p] : Long.MAX_VALUE;
+            long curKey = c < current.count ? current.keys[c] : Long.MAX_VALUE;
+            if (curKey < prevKey) {
+                for (int l = 0; l < listeners.size(); l++) {
+                    listeners.get(l).onCollisionEnter(current.a[c], current.b[c]);
+                }
+                c++;
+            } else if (prevKey < curKey) {
+                for (int l = 0; l < listeners.size(); l++) {
+                    listeners.get(l).onCollisionExit(previous.a[p], previous.b[p]);
+                }
+                p++;
+            } else {
+                for (int l = 0; l < listeners.size(); l++) {
+                    listeners.get(l).onCollisionStay(current.a[c], current.b[c]);
+                }
+                p++;
+                c++;
+            }
+        }
+        ContactSet swap = previous;
+        previous = current;
+        current = swap;
+        current.clear();
+    }
+
+    private static void sortContacts(ContactSet set, int lo, int hi) {
+        while (lo < hi) {
+            long pivot = set.keys[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (set.keys[i] < pivot) i++;
+                while (set.keys[j] > pivot) j--;
+                if (i <= j) {
+                    swapContacts(set, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            // 先递归较短的一侧，栈深度保持对数级
+            if (j - lo < hi - i) {
+                sortContacts(set, lo, j);
+                lo = i;
+            } else {
+                sortContacts(set, i, hi);
+                hi = j;
+            }
+        }
+    }
+
+    private static void swapContacts(ContactSet set, int i, int j) {
+        long key = set.keys[i];
+        set.keys[i] = set.keys[j];
+        set.keys[j] = key;
+        ColliderComponent a = set.a[i];
+        set.a[i] = set.a[j];
+        set.a[j] = a;
+        ColliderComponent b = set.b[i];
+        set.b[i] = set.b[j];
+        set.b[j] = b;
+    }
+
+    public void cleanup() {
+        previous.clear();
+        current.clear();
+    }
+}
@@ -18,7 +18,12 @@ public abstract class Component<T extends Component<T>> {
     public abstract void render();
     
     public void destroy() {
-        this.enabled = false;
+        setEnabled(false);
+    }
+    
+    // 所属对象归还对象池时调用：清除运行时状态，保留创建时的配置，以便下次直接复用
+    public void reset() {
+        this.enabled = true;
     }
     
     @SuppressWarnings("unchecked")
@@ -0,0 +1,46 @@
+package com.gameengine.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 组件类型句柄：每个组件类首次使用时分配一个整数 id，GameObject 用它直接下标定位组件槽位
+public final class ComponentType<T extends Component<T>> {
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private static final ClassValue<ComponentType<?>> TYPES = new ClassValue<ComponentType<?>>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected ComponentType<?> computeValue(Class<?> type) {
+            return new ComponentType(type, NEXT_ID.getAndIncrement());
+        }
+    };
+
+    private final Class<T> type;
+    private final int id;
+
+    private ComponentType(Class<T> type, int id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    // 系统中建议缓存为 static final 字段，避免每次查找 ClassValue
+    @SuppressWarnings("unchecked")
+    public static <T extends Component<T>> ComponentType<T> of(Class<T> type) {
+        return (ComponentType<T>) TYPES.get(type);
+    }
+
+    static int idOf(Class<?> type) {
+        return TYPES.get(type).id;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "ComponentType(" + type.getSimpleName() + "#" + id + ")";
+    }
+}
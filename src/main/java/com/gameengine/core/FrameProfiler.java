@@ -0,0 +1,198 @@
+package com.gameengine.core;
+
+import com.gameengine.graphics.IRenderer;
+import com.gameengine.recording.FileRecordingStorage;
+import com.gameengine.recording.RecordingStorage;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+
+// 按阶段统计帧耗时（纳秒），维护滑动窗口内的 p50/p95/p99，可绘制叠加层并定期导出 JSONL
+public class FrameProfiler {
+    public enum Phase {
+        INPUT_POLL("input_poll"),
+        SCENE_UPDATE("scene_update"),
+        PHYSICS("physics"),
+        COLLISION("collision"),
+        RECORDING("recording"),
+        SCENE_RENDER("scene_render"),
+        SNAPSHOT_REPLAY("snapshot_replay"),
+        BUFFER_SWAP("buffer_swap"),
+        FRAME("frame");
+
+        private final String key;
+
+        Phase(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private static final int WINDOW = 240;
+    private static final int STATS_INTERVAL_FRAMES = 30;
+
+    private final long[][] samples;
+    private final int[] sampleCounts;
+    private final int[] nextSample;
+    private final long[] scratch;
+    // [phase][0..2] = p50/p95/p99（毫秒）
+    private final double[][] percentiles;
+    private long frameCount;
+    private boolean enabled;
+    private boolean overlayVisible;
+
+    private RecordingStorage exportStorage;
+    private double exportIntervalSec;
+    private double exportElapsed;
+    private double totalElapsed;
+
+    public FrameProfiler() {
+        int phases = Phase.values().length;
+        this.samples = new long[phases][WINDOW];
+        this.sampleCounts = new int[phases];
+        this.nextSample = new int[phases];
+        this.scratch = new long[WINDOW];
+        this.percentiles = new double[phases][3];
+        this.enabled = true;
+        this.overlayVisible = false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    public void setOverlayVisible(boolean overlayVisible) {
+        this.overlayVisible = overlayVisible;
+    }
+
+    // 流水线模式下不同阶段由不同线程记录，因此读写都加锁（每帧仅数次，无竞争开销可忽略）
+    public synchronized void record(Phase phase, long nanos) {
+        if (!enabled) return;
+        int p = phase.ordinal();
+        samples[p][nextSample[p]] = nanos;
+        nextSample[p] = (nextSample[p] + 1) % WINDOW;
+        if (sampleCounts[p] < WINDOW) sampleCounts[p]++;
+    }
+
+    // 每帧结束时由驱动帧循环的线程调用
+    public synchronized void endFrame(long frameNanos) {
+        if (!enabled) return;
+        record(Phase.FRAME, frameNanos);
+        frameCount++;
+        if (frameCount % STATS_INTERVAL_FRAMES == 0) {
+            recomputePercentiles();
+        }
+
+        double seconds = frameNanos / 1_000_000_000.0;
+        totalElapsed += seconds;
+        if (exportStorage != null) {
+            exportElapsed += seconds;
+            if (exportElapsed >= exportIntervalSec) {
+                exportElapsed = 0.0;
+                writeExportLine();
+            }
+        }
+    }
+
+    public synchronized double getPercentileMillis(Phase phase, int which) {
+        return percentiles[phase.ordinal()][which];
+    }
+
+    public synchronized long getFrameCount() {
+        return frameCount;
+    }
+
+    private void recomputePercentiles() {
+        for (Phase phase : Phase.values()) {
+            int p = phase.ordinal();
+            int n = sampleCounts[p];
+            if (n == 0) continue;
+            System.arraycopy(samples[p], 0, scratch, 0, n);
+            Arrays.sort(scratch, 0, n);
+            percentiles[p][0] = scratch[rank(n, 0.50)] / 1_000_000.0;
+            percentiles[p][1] = scratch[rank(n, 0.95)] / 1_000_000.0;
+            percentiles[p][2] = scratch[rank(n, 0.99)] / 1_000_000.0;
+        }
+    }
+
+    private static int rank(int n, double q) {
+        int index = (int) Math.ceil(q * n) - 1;
+        return Math.max(0, Math.min(n - 1, index));
+    }
+
+    public void renderOverlay(IRenderer renderer) {
+        if (!enabled || !overlayVisible || renderer == null) return;
+        Phase[] phases = Phase.values();
+        String[] lines = new String[phases.length + 1];
+        synchronized (this) {
+            lines[0] = "PHASE  P50  P95  P99 (MS)";
+            for (int i = 0; i < phases.length; i++) {
+                double[] pc = percentiles[phases[i].ordinal()];
+                lines[i + 1] = String.format(Locale.ROOT, "%s %.2f %.2f %.2f", phases[i].getKey(), pc[0], pc[1], pc[2]);
+            }
+        }
+        // 面板尺寸按渲染器的字形尺寸计算，保证文字不超出背景
+        float lineH = renderer.getLineHeight() + 4f;
+        float textW = 0f;
+        for (int i = 0; i < lines.length; i++) {
+            textW = Math.max(textW, renderer.getTextWidth(lines[i]));
+        }
+        renderer.drawRect(8, 8, textW + 16, lines.length * lineH + 12, 0.0f, 0.0f, 0.0f, 0.6f);
+        for (int i = 0; i < lines.length; i++) {
+            renderer.drawText(16, 14 + i * lineH, lines[i], 0.6f, 1.0f, 0.6f, 1.0f);
+        }
+    }
+
+    public synchronized void startExport(String path, float intervalSec) throws IOException {
+        stopExport();
+        RecordingStorage storage = new FileRecordingStorage();
+        storage.openWriter(path);
+        this.exportStorage = storage;
+        this.exportIntervalSec = Math.max(0.1, intervalSec);
+        this.exportElapsed = 0.0;
+    }
+
+    public synchronized void stopExport() {
+        if (exportStorage != null) {
+            writeExportLine();
+            exportStorage.closeWriter();
+            exportStorage = null;
+        }
+    }
+
+    private void writeExportLine() {
+        recomputePercentiles();
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"type\":\"profile\",\"t\":").append(String.format(Locale.ROOT, "%.3f", totalElapsed))
+          .append(",\"frames\":").append(frameCount)
+          .append(",\"phases\":{");
+        Phase[] phases = Phase.values();
+        for (int i = 0; i < phases.length; i++) {
+            double[] pc = percentiles[phases[i].ordinal()];
+            if (i > 0) sb.append(',');
+            sb.append('"').append(phases[i].getKey()).append("\":{")
+              .append(String.format(Locale.ROOT, "\"p50\":%.4f,\"p95\":%.4f,\"p99\":%.4f", pc[0], pc[1], pc[2]))
+              .append('}');
+        }
+        sb.append("}}");
+        try {
+            exportStorage.writeLine(sb.toString());
+        } catch (IOException e) {
+            System.err.println("性能数据导出失败: " + e.getMessage());
+            exportStorage.closeWriter();
+            exportStorage = null;
+        }
+    }
+}
@@ -2,24 +2,64 @@ package com.gameengine.core;
 
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.graphics.RenderBackend;
+import com.gameengine.graphics.RenderSnapshot;
 import com.gameengine.graphics.RendererFactory;
+import com.gameengine.graphics.SnapshotRenderer;
 import com.gameengine.input.InputManager;
+import com.gameengine.scene.ChunkGrid;
 import com.gameengine.scene.Scene;
 
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
 
 public class GameEngine {
     private IRenderer renderer;
+    // 真实（持有窗口/上下文）的渲染器；非流水线模式下与 renderer 相同
+    private IRenderer displayRenderer;
     private InputManager inputManager;
     private Scene currentScene;
     private PhysicsSystem physicsSystem;
-    private boolean running;
+    private CollisionSystem collisionSystem;
+    private volatile boolean running;
     private float targetFPS;
     private float deltaTime;
     private long lastTime;
+    // 固定步长模式：仿真以 tickRate 推进，渲染按 alpha 在上一 tick 与当前 tick 之间插值
+    private boolean fixedTimestep;
+    private float tickRate;
+    private int maxCatchUpSteps;
+    private float interpolationAlpha;
+    private double accumulator;
+    // 流水线模式：仿真线程推进并录制绘制快照，主线程回放上一帧快照
+    private boolean pipelined;
+    private Thread renderThread;
+    private volatile boolean displayCleanupPending;
+    private final FrameProfiler profiler;
+    // 按帧耗时打折粒子发射与绘制的全局调节器
+    private final ParticleBudgetGovernor particleGovernor;
+    // 上一帧 endFrame（缓冲交换/垂直同步）的耗时，不计入调节器看到的帧耗时
+    private long lastSwapNanos;
+    // 流水线模式下渲染线程最近一次快照回放（实际绘制提交）的耗时，由仿真线程读取
+    private volatile long lastReplayNanos;
+    // 各系统共享的工作线程，生命周期与引擎一致
+    private final JobScheduler jobScheduler;
+    // 不限帧：不等待帧间隔；固定步长下每轮循环直接推进一个 tick（压测/基准/无头运行）
+    private boolean uncapped;
+    private long maxTicks;
+    private long tickCount;
     @SuppressWarnings("unused")
     private String title;
     // 新录制服务（可选）
     private com.gameengine.recording.RecordingService recordingService;
+    // 仅输入录制的回放：每个 tick 开始前注入录制的输入事件
+    private com.gameengine.recording.InputPlayback inputPlayback;
+    
+    // 确定性模式：固定步长，所有系统的随机数都由 seed 派生；并行系统的结果与执行顺序无关
+    private boolean deterministic;
+    private long seed;
+    // 游戏世界尺寸（<= 0 表示与窗口相同）；大于窗口时游戏场景按区块划分世界
+    private int worldWidth;
+    private int worldHeight;
     
     public GameEngine(int width, int height, String title) {
         this(width, height, title, RenderBackend.GPU);
@@ -28,12 +68,24 @@ public class GameEngine {
     public GameEngine(int width, int height, String title, RenderBackend backend) {
         this.title = title;
         this.renderer = RendererFactory.createRenderer(backend, width, height, title);
+        this.displayRenderer = renderer;
         this.inputManager = InputManager.getInstance();
         this.running = false;
         this.targetFPS = 60.0f;
         this.deltaTime = 0.0f;
         this.lastTime = System.nanoTime();
-        
+        this.fixedTimestep = false;
+        this.tickRate = 60.0f;
+        this.maxCatchUpSteps = 5;
+        this.interpolationAlpha = 1.0f;
+        this.profiler = new FrameProfiler();
+        this.particleGovernor = new ParticleBudgetGovernor();
+        this.jobScheduler = new JobScheduler();
+        this.uncapped = false;
+        this.maxTicks = 0;
+        this.tickCount = 0;
+        this.deterministic = false;
+        this.seed = 0L;
     }
     
     public boolean initialize() {
@@ -49,62 +101,191 @@ public class GameEngine {
         running = true;
         
         if (currentScene != null) {
+            createSystems(currentScene);
             currentScene.initialize();
-            if (currentScene.getName().equals("MainMenu")) {
-                physicsSystem = null;
-            } else {
-                physicsSystem = new PhysicsSystem(currentScene, renderer.getWidth(), renderer.getHeight());
-            }
-            
         }
         
-        long lastFrameTime = System.nanoTime();
-        long frameTimeNanos = (long)(1_000_000_000.0 / targetFPS);
+        lastTime = System.nanoTime();
+        accumulator = 0.0;
+        renderThread = Thread.currentThread();
+        
+        if (pipelined) {
+            runPipelined();
+            return;
+        }
         
         while (running) {
-            long currentTime = System.nanoTime();
+            long frameStart = System.nanoTime();
             
-            if (currentTime - lastFrameTime >= frameTimeNanos) {
-                update();
+            renderer.pollEvents();
+            profiler.record(FrameProfiler.Phase.INPUT_POLL, System.nanoTime() - frameStart);
+            if (renderer.shouldClose()) {
+                running = false;
+                break;
+            }
+            
+            advance(frameStart);
+            
+            if (running) {
+                render();
+                endFrame(frameStart);
+                waitForNextFrame(frameStart);
+            }
+        }
+    }
+    
+    private void runPipelined() {
+        SnapshotRenderer snapshots = (SnapshotRenderer) renderer;
+        Thread simulationThread = new Thread(() -> {
+            while (running) {
+                long frameStart = System.nanoTime();
+                advance(frameStart);
                 if (running) {
                     render();
+                    endFrame(frameStart);
+                    waitForNextFrame(frameStart);
                 }
-                lastFrameTime = currentTime;
             }
-            
-            renderer.pollEvents();
-            
-            if (renderer.shouldClose()) {
+        }, "simulation");
+        simulationThread.start();
+        
+        while (running) {
+            long pollStart = System.nanoTime();
+            displayRenderer.pollEvents();
+            profiler.record(FrameProfiler.Phase.INPUT_POLL, System.nanoTime() - pollStart);
+            if (displayRenderer.shouldClose()) {
                 running = false;
+                break;
             }
             
+            RenderSnapshot frame = snapshots.acquireLatest();
+            if (frame != null) {
+                long replayStart = System.nanoTime();
+                displayRenderer.beginFrame();
+                frame.replay(displayRenderer);
+                long swapStart = System.nanoTime();
+                lastReplayNanos = swapStart - replayStart;
+                profiler.record(FrameProfiler.Phase.SNAPSHOT_REPLAY, lastReplayNanos);
+                displayRenderer.endFrame();
+                profiler.record(FrameProfiler.Phase.BUFFER_SWAP, System.nanoTime() - swapStart);
+            } else {
+                LockSupport.parkNanos(250_000L);
+            }
+        }
+        
+        try {
+            simulationThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (displayCleanupPending) {
+            displayCleanupPending = false;
+            displayRenderer.cleanup();
+        }
+    }
+    
+    private void endFrame(long frameStart) {
+        long frameNanos = System.nanoTime() - frameStart;
+        profiler.endFrame(frameNanos);
+        // 流水线模式下仿真帧只含 tick 与快照录制，绘制开销在渲染线程；两个线程各自都要守住预算，取较慢的一方
+        long workNanos = frameNanos - lastSwapNanos;
+        if (pipelined) {
+            workNanos = Math.max(workNanos, lastReplayNanos);
+        }
+        particleGovernor.recordFrame(workNanos);
+    }
+    
+    // 推进仿真：固定步长模式下按累计时间执行若干 tick，否则执行一次可变步长 tick
+    private void advance(long frameStart) {
+        if (uncapped && fixedTimestep) {
+            lastTime = frameStart;
+            tick((float) (1.0 / tickRate));
+            interpolationAlpha = 1.0f;
+        } else if (fixedTimestep) {
+            double tickSeconds = 1.0 / tickRate;
+            // 单帧耗时过长时限制累计量，避免追帧导致的死亡螺旋
+            double frameSeconds = Math.min((frameStart - lastTime) / 1_000_000_000.0, tickSeconds * maxCatchUpSteps);
+            lastTime = frameStart;
+            accumulator += frameSeconds;
+            
+            int steps = 0;
+            while (running && accumulator >= tickSeconds && steps < maxCatchUpSteps) {
+                tick((float) tickSeconds);
+                accumulator -= tickSeconds;
+                steps++;
+            }
+            if (steps >= maxCatchUpSteps && accumulator >= tickSeconds) {
+                accumulator = accumulator % tickSeconds;
+            }
+            interpolationAlpha = (float) (accumulator / tickSeconds);
+        } else {
+            float frameDelta = (frameStart - lastTime) / 1_000_000_000.0f;
+            lastTime = frameStart;
+            tick(frameDelta);
+            interpolationAlpha = 1.0f;
+        }
+    }
+    
+    // 按 targetFPS 让出剩余时间（开启 vsync 时 endFrame 通常已阻塞）
+    private void waitForNextFrame(long frameStart) {
+        if (uncapped) return;
+        long frameTimeNanos = (long) (1_000_000_000.0 / targetFPS);
+        long remaining = frameStart + frameTimeNanos - System.nanoTime();
+        if (remaining > 1_000_000L) {
             try {
-                Thread.sleep(1);
+                Thread.sleep((remaining - 500_000L) / 1_000_000L, (int) ((remaining - 500_000L) % 1_000_000L));
             } catch (InterruptedException e) {
-                break;
+                running = false;
+                Thread.currentThread().interrupt();
             }
         }
     }
     
-    private void update() {
-        long currentTime = System.nanoTime();
-        deltaTime = (currentTime - lastTime) / 1_000_000_000.0f;
-        lastTime = currentTime;
-        
-        renderer.pollEvents();
+    private void tick(float deltaTime) {
+        this.deltaTime = deltaTime;
+        tickCount++;
         
+        if (inputPlayback != null && !inputPlayback.feed(inputManager, currentScene, tickCount)) {
+            inputPlayback.finish(inputManager);
+            inputPlayback = null;
+        }
+        inputManager.processEvents();
         
+        // F3 切换性能叠加层（AWT=114, GLFW=292）
+        if (inputManager.isKeyJustPressed(114) || inputManager.isKeyJustPressed(292)) {
+            profiler.setOverlayVisible(!profiler.isOverlayVisible());
+        }
         
+        long phaseStart = System.nanoTime();
         if (currentScene != null) {
+            ChunkGrid chunkGrid = currentScene.getChunkGrid();
+            if (chunkGrid != null) {
+                chunkGrid.update(tickCount);
+            }
+            currentScene.getArchetypeStore().storePreviousPositions();
             currentScene.update(deltaTime);
         }
+        long phaseEnd = System.nanoTime();
+        profiler.record(FrameProfiler.Phase.SCENE_UPDATE, phaseEnd - phaseStart);
         
         if (physicsSystem != null) {
+            phaseStart = phaseEnd;
             physicsSystem.update(deltaTime);
+            phaseEnd = System.nanoTime();
+            profiler.record(FrameProfiler.Phase.PHYSICS, phaseEnd - phaseStart);
+        }
+        
+        if (collisionSystem != null) {
+            phaseStart = phaseEnd;
+            collisionSystem.update();
+            phaseEnd = System.nanoTime();
+            profiler.record(FrameProfiler.Phase.COLLISION, phaseEnd - phaseStart);
         }
         
         if (recordingService != null && recordingService.isRecording()) {
-            recordingService.update(deltaTime, currentScene, inputManager);
+            phaseStart = phaseEnd;
+            recordingService.update(deltaTime, tickCount, currentScene, inputManager);
+            profiler.record(FrameProfiler.Phase.RECORDING, System.nanoTime() - phaseStart);
         }
         
         inputManager.update();
@@ -118,6 +299,11 @@ public class GameEngine {
             running = false;
             cleanup();
         }
+        
+        if (maxTicks > 0 && tickCount >= maxTicks && running) {
+            running = false;
+            cleanup();
+        }
     }
     
     private void render() {
@@ -125,32 +311,65 @@ public class GameEngine {
         
         renderer.beginFrame();
         
+        long renderStart = System.nanoTime();
         if (currentScene != null) {
+            currentScene.setInterpolationAlpha(interpolationAlpha);
             currentScene.render();
         }
+        profiler.renderOverlay(renderer);
+        long swapStart = System.nanoTime();
+        profiler.record(FrameProfiler.Phase.SCENE_RENDER, swapStart - renderStart);
         
         renderer.endFrame();
+        // 流水线模式下 endFrame 只是发布快照，真正的交换在渲染线程计时
+        lastSwapNanos = pipelined ? 0L : System.nanoTime() - swapStart;
+        if (!pipelined) {
+            profiler.record(FrameProfiler.Phase.BUFFER_SWAP, lastSwapNanos);
+        }
     }
     
     public void setScene(Scene scene) {
         if (currentScene != null) {
-            if (physicsSystem != null) {
-                physicsSystem.cleanup();
-                physicsSystem = null;
-            }
+            cleanupSystems();
             currentScene.clear();
         }
         this.currentScene = scene;
         if (scene != null) {
             if (running) {
+                createSystems(scene);
                 scene.initialize();
-                if (!scene.getName().equals("MainMenu") && !scene.getName().equals("Replay")) {
-                    physicsSystem = new PhysicsSystem(scene, renderer.getWidth(), renderer.getHeight());
-                }
             }
         }
     }
     
+    // 在场景 initialize 之前创建，场景初始化时即可向系统注册监听
+    private void createSystems(Scene scene) {
+        if (!scene.getName().equals("MainMenu") && !scene.getName().equals("Replay")) {
+            physicsSystem = new PhysicsSystem(scene, renderer.getWidth(), renderer.getHeight(), jobScheduler);
+            collisionSystem = new CollisionSystem(scene, jobScheduler);
+        }
+    }
+    
+    private void cleanupSystems() {
+        if (physicsSystem != null) {
+            physicsSystem.cleanup();
+            physicsSystem = null;
+        }
+        if (collisionSystem != null) {
+            collisionSystem.cleanup();
+            collisionSystem = null;
+        }
+    }
+    
+    // 当前场景的碰撞系统（菜单/回放场景为 null）
+    public CollisionSystem getCollisionSystem() {
+        return collisionSystem;
+    }
+    
+    public JobScheduler getJobScheduler() {
+        return jobScheduler;
+    }
+    
     public Scene getCurrentScene() {
         return currentScene;
     }
@@ -160,23 +379,35 @@ public class GameEngine {
     }
     
     public void cleanup() {
+        profiler.stopExport();
         if (recordingService != null && recordingService.isRecording()) {
             try { recordingService.stop(); } catch (Exception ignored) {}
         }
         if (physicsSystem != null) {
             physicsSystem.cleanup();
         }
+        if (collisionSystem != null) {
+            collisionSystem.cleanup();
+        }
         if (currentScene != null) {
             currentScene.clear();
         }
-        renderer.cleanup();
+        jobScheduler.shutdown();
+        // GL 资源只能在渲染线程释放；仿真线程发起时交给主循环结束后处理
+        if (pipelined && Thread.currentThread() != renderThread) {
+            displayCleanupPending = true;
+        } else {
+            displayRenderer.cleanup();
+        }
     }
 
     // 可选：外部启用录制（按需调用）
     public void enableRecording(com.gameengine.recording.RecordingService service) {
+        disableRecording();
         this.recordingService = service;
         try {
             if (service != null && currentScene != null) {
+                service.setSimulationInfo(deterministic, seed, tickRate, tickCount, getWorldWidth(), getWorldHeight());
                 service.start(currentScene, renderer.getWidth(), renderer.getHeight());
             }
         } catch (Exception e) {
@@ -193,10 +424,121 @@ public class GameEngine {
     
     
     
+    // 开始仅输入录制的回放：采用录制的种子、步长与世界尺寸进入确定性模式（随后由调用方切换到对应场景）
+    public void startInputPlayback(com.gameengine.recording.InputPlayback playback) {
+        stopInputPlayback();
+        setSeed(playback.getSeed());
+        setTickRate(playback.getTickRate());
+        // 旧录制没有记录世界尺寸，沿用当前设置
+        if (playback.getWorldWidth() > 0 && playback.getWorldHeight() > 0) {
+            if (playback.getWorldWidth() != getWorldWidth() || playback.getWorldHeight() != getWorldHeight()) {
+                System.out.println("回放使用录制的世界尺寸 " + playback.getWorldWidth() + "x" + playback.getWorldHeight()
+                    + "（当前 " + getWorldWidth() + "x" + getWorldHeight() + "）");
+            }
+            setWorldSize(playback.getWorldWidth(), playback.getWorldHeight());
+        }
+        setDeterministic(true);
+        playback.begin(inputManager, tickCount);
+        this.inputPlayback = playback;
+    }
+    
+    public void stopInputPlayback() {
+        if (inputPlayback != null) {
+            inputPlayback.finish(inputManager);
+            inputPlayback = null;
+        }
+    }
+    
+    public boolean isPlayingInput() {
+        return inputPlayback != null;
+    }
+    
+    // 开启时强制固定步长；关闭后保留当前步长设置
+    public void setDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+        if (deterministic) {
+            this.fixedTimestep = true;
+        }
+    }
+    
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+    
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    // 按名称派生独立的随机流：确定性模式下只取决于种子与名称（与创建顺序无关），否则随机播种
+    public SplittableRandom createRandom(String stream) {
+        if (!deterministic) {
+            return new SplittableRandom();
+        }
+        long h = seed;
+        for (int i = 0; i < stream.length(); i++) {
+            h = h * 0x9E3779B97F4A7C15L + stream.charAt(i);
+        }
+        return new SplittableRandom(h);
+    }
+    
     public IRenderer getRenderer() {
         return renderer;
     }
     
+    // 需在创建游戏场景之前调用
+    public void setWorldSize(int worldWidth, int worldHeight) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+    }
+    
+    public int getWorldWidth() {
+        return worldWidth > 0 ? worldWidth : renderer.getWidth();
+    }
+    
+    public int getWorldHeight() {
+        return worldHeight > 0 ? worldHeight : renderer.getHeight();
+    }
+    
+    // 需在创建场景之前调用：场景会缓存 getRenderer() 返回的渲染器
+    public void setPipelined(boolean pipelined) {
+        if (running || this.pipelined == pipelined) return;
+        this.pipelined = pipelined;
+        this.renderer = pipelined ? new SnapshotRenderer(displayRenderer) : displayRenderer;
+    }
+    
+    public boolean isPipelined() {
+        return pipelined;
+    }
+    
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+    
+    public ParticleBudgetGovernor getParticleGovernor() {
+        return particleGovernor;
+    }
+    
+    public void setUncapped(boolean uncapped) {
+        this.uncapped = uncapped;
+    }
+    
+    public boolean isUncapped() {
+        return uncapped;
+    }
+    
+    // 运行指定数量的 tick 后自动停止（<= 0 表示不限制）
+    public void setMaxTicks(long maxTicks) {
+        this.maxTicks = maxTicks;
+    }
+    
+    public long getTickCount() {
+        return tickCount;
+    }
+    
     public InputManager getInputManager() {
         return inputManager;
     }
@@ -213,6 +555,35 @@ public class GameEngine {
         return targetFPS;
     }
     
+    public void setFixedTimestep(boolean fixedTimestep) {
+        // 确定性模式依赖固定步长
+        this.fixedTimestep = fixedTimestep || deterministic;
+    }
+    
+    public boolean isFixedTimestep() {
+        return fixedTimestep;
+    }
+    
+    public void setTickRate(float tickRate) {
+        this.tickRate = Math.max(1.0f, tickRate);
+    }
+    
+    public float getTickRate() {
+        return tickRate;
+    }
+    
+    public void setMaxCatchUpSteps(int maxCatchUpSteps) {
+        this.maxCatchUpSteps = Math.max(1, maxCatchUpSteps);
+    }
+    
+    public int getMaxCatchUpSteps() {
+        return maxCatchUpSteps;
+    }
+    
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+    
     public boolean isRunning() {
         return running;
     }
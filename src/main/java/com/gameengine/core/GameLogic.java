@@ -1,59 +1,109 @@
 package com.gameengine.core;
 
+import com.gameengine.components.ColliderComponent;
 import com.gameengine.components.PhysicsComponent;
 import com.gameengine.components.TransformComponent;
 import com.gameengine.input.InputManager;
 import com.gameengine.math.Vector2;
+import com.gameengine.scene.ChunkGrid;
 import com.gameengine.scene.Scene;
+import com.gameengine.scene.TagGroup;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.SplittableRandom;
 
 public class GameLogic {
+    private static final ComponentType<TransformComponent> TRANSFORM = ComponentType.of(TransformComponent.class);
+    private static final ComponentType<PhysicsComponent> PHYSICS = ComponentType.of(PhysicsComponent.class);
+    private static final Tag PLAYER_TAG = Tag.of("Player");
+    private static final Tag AI_PLAYER_TAG = Tag.of("AIPlayer");
+    // 避让半径，同时作为空间哈希的格子边长
+    private static final float AVOIDANCE_RADIUS = 80f;
+    
     private Scene scene;
     private InputManager inputManager;
-    private Random random;
+    // AI 随机流；每个 AI 首次出现时从中分裂出自己的子流，结果只取决于 AI 的出现顺序
+    private SplittableRandom random;
     private boolean gameOver;
     private GameEngine gameEngine;
-    private Map<GameObject, Vector2> aiTargetVelocities;
-    private Map<GameObject, Float> aiTargetUpdateTimers;
-    private ExecutorService avoidanceExecutor;
+    // 每个 AI 的目标速度与计时，原地更新，避免每帧装箱与新建向量
+    private static final class AIState {
+        final Vector2 targetVelocity = new Vector2();
+        float timer;
+        SplittableRandom random;
+    }
+    
+    private Map<GameObject, AIState> aiStates;
+    // 仿真线程上复用的临时向量
+    private final Vector2 inputMovement = new Vector2();
+    private final Vector2 playerPosition = new Vector2();
+    private final Vector2 scratchVelocity = new Vector2();
+    // 引擎共享调度器（随 setGameEngine 取得）；为 null 时避让在调用线程上计算
+    private JobScheduler scheduler;
+    // AI 数量达到该值时交给调度器并行计算避让
+    private int parallelAvoidanceThreshold;
+    private int maxParallelism;
+    // 本 tick 参与仿真的 AI 及其步长倍数（0 表示降频区块本 tick 轮空）；有区块划分时只取非冻结区块
+    private GameObject[] liveAIPlayers = new GameObject[64];
+    private float[] liveAISteps = new float[64];
+    private int liveAICount;
+    private final SpatialHash avoidanceGrid = new SpatialHash(AVOIDANCE_RADIUS);
+    // 并行避让按固定大小分块，每块一份邻居格子的暂存数组（串行用第 0 份），随块数增长、跨 tick 复用
+    private static final int AVOIDANCE_CHUNK = 64;
+    private int[][] avoidanceBuckets = { new int[9] };
+    // 并行任务只创建一次，本 tick 的步长经字段传入，避免每 tick 新建捕获 lambda
+    private final JobScheduler.RangeJob avoidanceJob = this::processAvoidanceChunks;
+    private float avoidanceDelta;
+    private PhysicsComponent[] avoidancePhysics = new PhysicsComponent[64];
+    private float[] avoidanceX = new float[64];
+    private float[] avoidanceY = new float[64];
+    private float[] avoidanceVelX = new float[64];
+    private float[] avoidanceVelY = new float[64];
+    private float[] avoidanceSteps = new float[64];
+    private int avoidanceCount;
     
     public GameLogic(Scene scene) {
         this.scene = scene;
         this.inputManager = InputManager.getInstance();
-        this.random = new Random();
+        this.random = new SplittableRandom();
         this.gameOver = false;
-        this.aiTargetVelocities = new HashMap<>();
-        this.aiTargetUpdateTimers = new HashMap<>();
-        int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
-        this.avoidanceExecutor = Executors.newFixedThreadPool(threadCount);
+        this.aiStates = new HashMap<>();
+        this.parallelAvoidanceThreshold = 10;
+        this.maxParallelism = 0;
     }
     
     public void cleanup() {
-        if (avoidanceExecutor != null && !avoidanceExecutor.isShutdown()) {
-            avoidanceExecutor.shutdown();
-            try {
-                if (!avoidanceExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    avoidanceExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                avoidanceExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
+        aiStates.clear();
+    }
+    
+    // AI 失活或归还对象池时丢弃其状态，复用时重新分裂随机流、重置计时与目标速度
+    public void releaseAIState(GameObject aiPlayer) {
+        aiStates.remove(aiPlayer);
     }
     
     public void setGameEngine(GameEngine engine) {
         this.gameEngine = engine;
+        this.scheduler = engine != null ? engine.getJobScheduler() : null;
+        if (engine != null) {
+            this.random = engine.createRandom("ai");
+        }
+    }
+    
+    public void setJobScheduler(JobScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+    
+    // 避让最多同时占用的工作线程数（<= 0 表示不限制）
+    public void setMaxParallelism(int maxParallelism) {
+        this.maxParallelism = maxParallelism;
+    }
+    
+    public void setParallelAvoidanceThreshold(int threshold) {
+        this.parallelAvoidanceThreshold = Math.max(0, threshold);
     }
     
     public boolean isGameOver() {
@@ -61,19 +111,31 @@ public class GameLogic {
     }
     
     public GameObject getUserPlayer() {
-        for (GameObject obj : scene.getGameObjects()) {
-            if (obj.getName().equals("Player") && obj.hasComponent(PhysicsComponent.class)) {
+        TagGroup players = scene.getTagged(PLAYER_TAG);
+        for (int i = 0; i < players.size(); i++) {
+            GameObject obj = players.get(i);
+            if (obj.hasComponent(PHYSICS)) {
                 return obj;
             }
         }
         return null;
     }
     
+    // 场景维护的 AI 分组，按下标遍历且不复制；其中可能含本帧刚失活、尚未移出的对象
+    public TagGroup getAIPlayerGroup() {
+        return scene.getTagged(AI_PLAYER_TAG);
+    }
+    
     public List<GameObject> getAIPlayers() {
-        return scene.getGameObjects().stream()
-            .filter(obj -> obj.getName().equals("AIPlayer"))
-            .filter(obj -> obj.isActive())
-            .collect(Collectors.toList());
+        TagGroup group = getAIPlayerGroup();
+        List<GameObject> result = new ArrayList<>(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            GameObject obj = group.get(i);
+            if (obj.isActive()) {
+                result.add(obj);
+            }
+        }
+        return result;
     }
     
     public void handlePlayerInput(float deltaTime) {
@@ -82,12 +144,12 @@ public class GameLogic {
         GameObject player = getUserPlayer();
         if (player == null) return;
         
-        TransformComponent transform = player.getComponent(TransformComponent.class);
-        PhysicsComponent physics = player.getComponent(PhysicsComponent.class);
+        TransformComponent transform = player.getComponent(TRANSFORM);
+        PhysicsComponent physics = player.getComponent(PHYSICS);
         
         if (transform == null || physics == null) return;
         
-        Vector2 movement = new Vector2();
+        Vector2 movement = inputMovement.set(0, 0);
         
         // W / UpArrow (AWT=38, GLFW=265)
         if (inputManager.isKeyPressed(87) || inputManager.isKeyPressed(38) || inputManager.isKeyPressed(265)) {
@@ -106,14 +168,21 @@ public class GameLogic {
             movement.x += 1;
         }
         
-        if (movement.magnitude() > 0) {
-            movement = movement.normalize().multiply(200);
-            physics.setVelocity(movement);
+        if (movement.magnitudeSq() > 0) {
+            physics.setVelocity(movement.normalizeLocal().scaleLocal(200));
         }
         
-        Vector2 pos = transform.getPosition();
-        int screenW = gameEngine != null && gameEngine.getRenderer() != null ? gameEngine.getRenderer().getWidth() : 1920;
-        int screenH = gameEngine != null && gameEngine.getRenderer() != null ? gameEngine.getRenderer().getHeight() : 1080;
+        Vector2 pos = transform.getPosition(playerPosition);
+        ChunkGrid chunks = scene.getChunkGrid();
+        float screenW;
+        float screenH;
+        if (chunks != null) {
+            screenW = chunks.getWorldWidth();
+            screenH = chunks.getWorldHeight();
+        } else {
+            screenW = gameEngine != null && gameEngine.getRenderer() != null ? gameEngine.getRenderer().getWidth() : 1920;
+            screenH = gameEngine != null && gameEngine.getRenderer() != null ? gameEngine.getRenderer().getHeight() : 1080;
+        }
         if (pos.x < 0) pos.x = 0;
         if (pos.y < 0) pos.y = 0;
         if (pos.x > screenW - 20) pos.x = screenW - 20;
@@ -121,51 +190,100 @@ public class GameLogic {
         transform.setPosition(pos);
     }
     
+    // 收集本 tick 参与仿真的 AI：无区块划分时为全部 AI，否则只遍历非冻结区块的成员；
+    // 结果经 getLiveAIPlayerCount/getLiveAIPlayer 按下标读取，直到下次收集
+    public void gatherLiveAIPlayers() {
+        Arrays.fill(liveAIPlayers, 0, liveAICount, null);
+        liveAICount = 0;
+        ChunkGrid chunks = scene.getChunkGrid();
+        if (chunks == null) {
+            TagGroup aiPlayers = getAIPlayerGroup();
+            for (int i = 0; i < aiPlayers.size(); i++) {
+                addLiveAIPlayer(aiPlayers.get(i), 1f);
+            }
+            return;
+        }
+        for (int i = 0; i < chunks.getLiveChunkCount(); i++) {
+            int chunk = chunks.getLiveChunk(i);
+            float step = chunks.isDue(chunk) ? chunks.getStepScale(chunk) : 0f;
+            for (int k = 0; k < chunks.getMemberCount(chunk); k++) {
+                GameObject obj = chunks.getMember(chunk, k);
+                if (obj.getTag() == AI_PLAYER_TAG) {
+                    addLiveAIPlayer(obj, step);
+                }
+            }
+        }
+    }
+    
+    public int getLiveAIPlayerCount() {
+        return liveAICount;
+    }
+    
+    public GameObject getLiveAIPlayer(int index) {
+        return liveAIPlayers[index];
+    }
+    
+    private void addLiveAIPlayer(GameObject obj, float step) {
+        if (!obj.isActive()) return;
+        if (liveAICount == liveAIPlayers.length) {
+            liveAIPlayers = Arrays.copyOf(liveAIPlayers, liveAICount * 2);
+            liveAISteps = Arrays.copyOf(liveAISteps, liveAICount * 2);
+        }
+        liveAIPlayers[liveAICount] = obj;
+        liveAISteps[liveAICount] = step;
+        liveAICount++;
+    }
+    
     public void handleAIPlayerMovement(float deltaTime) {
         if (gameOver) return;
         
-        List<GameObject> aiPlayers = getAIPlayers();
+        gatherLiveAIPlayers();
         
-        for (GameObject aiPlayer : aiPlayers) {
-            PhysicsComponent physics = aiPlayer.getComponent(PhysicsComponent.class);
+        for (int i = 0; i < liveAICount; i++) {
+            float step = liveAISteps[i];
+            if (step == 0f) continue;
+            GameObject aiPlayer = liveAIPlayers[i];
+            float dt = deltaTime * step;
+            PhysicsComponent physics = aiPlayer.getComponent(PHYSICS);
             if (physics == null) continue;
             
-            if (!aiTargetVelocities.containsKey(aiPlayer)) {
-                Vector2 initialTarget = new Vector2(
-                    (random.nextFloat() - 0.5f) * 150,
-                    (random.nextFloat() - 0.5f) * 150
+            AIState state = aiStates.get(aiPlayer);
+            if (state == null) {
+                state = new AIState();
+                state.random = random.split();
+                state.targetVelocity.set(
+                    (state.random.nextFloat() - 0.5f) * 150,
+                    (state.random.nextFloat() - 0.5f) * 150
                 );
-                aiTargetVelocities.put(aiPlayer, initialTarget);
-                aiTargetUpdateTimers.put(aiPlayer, 0f);
+                aiStates.put(aiPlayer, state);
             }
             
-            float timer = aiTargetUpdateTimers.get(aiPlayer) + deltaTime;
-            aiTargetUpdateTimers.put(aiPlayer, timer);
+            state.timer += dt;
             
-            if (timer >= (2.0f + random.nextFloat() * 2.0f)) {
-                Vector2 newTarget = new Vector2(
-                    (random.nextFloat() - 0.5f) * 150,
-                    (random.nextFloat() - 0.5f) * 150
+            if (state.timer >= (2.0f + state.random.nextFloat() * 2.0f)) {
+                state.targetVelocity.set(
+                    (state.random.nextFloat() - 0.5f) * 150,
+                    (state.random.nextFloat() - 0.5f) * 150
                 );
-                aiTargetVelocities.put(aiPlayer, newTarget);
-                aiTargetUpdateTimers.put(aiPlayer, 0f);
+                state.timer = 0f;
             }
             
-            Vector2 currentVelocity = physics.getVelocity();
-            Vector2 targetVelocity = aiTargetVelocities.get(aiPlayer);
+            Vector2 velocity = physics.getVelocity(scratchVelocity);
+            Vector2 targetVelocity = state.targetVelocity;
             
+            // velocity += (target - velocity) * lerpFactor
             float lerpFactor = 0.1f;
-            Vector2 newVelocity = new Vector2(
-                currentVelocity.x + (targetVelocity.x - currentVelocity.x) * lerpFactor,
-                currentVelocity.y + (targetVelocity.y - currentVelocity.y) * lerpFactor
+            velocity.set(
+                velocity.x + (targetVelocity.x - velocity.x) * lerpFactor,
+                velocity.y + (targetVelocity.y - velocity.y) * lerpFactor
             );
             
             float maxSpeed = 150f;
-            if (newVelocity.magnitude() > maxSpeed) {
-                newVelocity = newVelocity.normalize().multiply(maxSpeed);
+            if (velocity.magnitudeSq() > maxSpeed * maxSpeed) {
+                velocity.normalizeLocal().scaleLocal(maxSpeed);
             }
             
-            physics.setVelocity(newVelocity);
+            physics.setVelocity(velocity);
         }
     }
     
@@ -173,122 +291,151 @@ public class GameLogic {
     public void handleAIPlayerAvoidance(float deltaTime) {
         if (gameOver) return;
         
-        List<GameObject> aiPlayers = getAIPlayers();
-        if (aiPlayers.isEmpty()) return;
+        gatherAvoidanceAgents();
+        if (avoidanceCount == 0) return;
+        avoidanceGrid.build(avoidanceX, avoidanceY, avoidanceCount);
         
-        if (aiPlayers.size() < 10) {
-            handleAIPlayerAvoidanceSerial(aiPlayers, deltaTime);
+        if (scheduler == null || avoidanceCount < parallelAvoidanceThreshold) {
+            handleAIPlayerAvoidanceSerial(deltaTime);
         } else {
-            handleAIPlayerAvoidanceParallel(aiPlayers, deltaTime);
+            handleAIPlayerAvoidanceParallel(deltaTime);
         }
     }
     
-    private void handleAIPlayerAvoidanceSerial(List<GameObject> aiPlayers, float deltaTime) {
-        for (int i = 0; i < aiPlayers.size(); i++) {
-            processAvoidanceForPlayer(aiPlayers, i, deltaTime);
+    // 把本 tick 参与避让的 AI 位置拷入连续数组，供空间哈希重建与邻居查询；
+    // 降频区块中轮空的 AI 也作为邻居参与，只是不更新自己的速度
+    private void gatherAvoidanceAgents() {
+        gatherLiveAIPlayers();
+        int n = liveAICount;
+        if (avoidancePhysics.length < n) {
+            int capacity = Math.max(n, avoidancePhysics.length * 2);
+            avoidancePhysics = new PhysicsComponent[capacity];
+            avoidanceX = new float[capacity];
+            avoidanceY = new float[capacity];
+            avoidanceVelX = new float[capacity];
+            avoidanceVelY = new float[capacity];
+            avoidanceSteps = new float[capacity];
+        }
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            GameObject aiPlayer = liveAIPlayers[i];
+            TransformComponent transform = aiPlayer.getComponent(TRANSFORM);
+            PhysicsComponent physics = aiPlayer.getComponent(PHYSICS);
+            if (transform == null || physics == null) continue;
+            avoidancePhysics[count] = physics;
+            avoidanceX[count] = transform.getX();
+            avoidanceY[count] = transform.getY();
+            physics.getVelocity(scratchVelocity);
+            avoidanceVelX[count] = scratchVelocity.x;
+            avoidanceVelY[count] = scratchVelocity.y;
+            avoidanceSteps[count] = liveAISteps[i];
+            count++;
+        }
+        if (count < avoidanceCount) {
+            Arrays.fill(avoidancePhysics, count, avoidanceCount, null);
         }
+        avoidanceCount = count;
     }
     
-    private void handleAIPlayerAvoidanceParallel(List<GameObject> aiPlayers, float deltaTime) {
-        int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-        threadCount = Math.max(2, threadCount);
-        int batchSize = Math.max(1, aiPlayers.size() / threadCount + 1);
-        
-        List<Future<?>> futures = new ArrayList<>();
-        
-        for (int i = 0; i < aiPlayers.size(); i += batchSize) {
-            final int start = i;
-            final int end = Math.min(i + batchSize, aiPlayers.size());
-            
-            Future<?> future = avoidanceExecutor.submit(() -> {
-                for (int j = start; j < end; j++) {
-                    processAvoidanceForPlayer(aiPlayers, j, deltaTime);
-                }
-            });
-            
-            futures.add(future);
+    private void handleAIPlayerAvoidanceSerial(float deltaTime) {
+        for (int i = 0; i < avoidanceCount; i++) {
+            processAvoidanceForPlayer(i, avoidanceBuckets[0], deltaTime);
         }
-        
-        for (Future<?> future : futures) {
-            try {
-                future.get();
-            } catch (Exception e) {
-                e.printStackTrace();
+    }
+    
+    private void handleAIPlayerAvoidanceParallel(float deltaTime) {
+        int chunks = (avoidanceCount + AVOIDANCE_CHUNK - 1) / AVOIDANCE_CHUNK;
+        ensureAvoidanceBuckets(chunks);
+        avoidanceDelta = deltaTime;
+        scheduler.parallelFor(chunks, 1, maxParallelism, avoidanceJob);
+    }
+    
+    private void processAvoidanceChunks(int first, int last) {
+        for (int t = first; t < last; t++) {
+            int[] buckets = avoidanceBuckets[t];
+            int end = Math.min((t + 1) * AVOIDANCE_CHUNK, avoidanceCount);
+            for (int j = t * AVOIDANCE_CHUNK; j < end; j++) {
+                processAvoidanceForPlayer(j, buckets, avoidanceDelta);
             }
         }
     }
     
-    private void processAvoidanceForPlayer(List<GameObject> aiPlayers, int index, float deltaTime) {
-        GameObject aiPlayer1 = aiPlayers.get(index);
-        TransformComponent transform1 = aiPlayer1.getComponent(TransformComponent.class);
-        PhysicsComponent physics1 = aiPlayer1.getComponent(PhysicsComponent.class);
-        
-        if (transform1 == null || physics1 == null) return;
-        
-        Vector2 pos1 = transform1.getPosition();
-        Vector2 avoidance = new Vector2();
+    private void ensureAvoidanceBuckets(int chunks) {
+        if (avoidanceBuckets.length >= chunks) return;
+        int old = avoidanceBuckets.length;
+        avoidanceBuckets = Arrays.copyOf(avoidanceBuckets, Math.max(chunks, old * 2));
+        for (int t = old; t < avoidanceBuckets.length; t++) {
+            avoidanceBuckets[t] = new int[9];
+        }
+    }
+    
+    // 每个 AI 汇总周围 3x3 格内所有邻居的排斥力，只写自己的速度：
+    // 成对作用力天然对称，并行批次之间也没有写冲突
+    private void processAvoidanceForPlayer(int index, int[] buckets, float deltaTime) {
+        float step = avoidanceSteps[index];
+        if (step == 0f) return;
+        deltaTime *= step;
+        float x = avoidanceX[index];
+        float y = avoidanceY[index];
+        float avoidX = 0f;
+        float avoidY = 0f;
         
-        for (int j = index + 1; j < aiPlayers.size(); j++) {
-            GameObject aiPlayer2 = aiPlayers.get(j);
-            TransformComponent transform2 = aiPlayer2.getComponent(TransformComponent.class);
-            
-            if (transform2 == null) continue;
-            
-            Vector2 pos2 = transform2.getPosition();
-            float distance = pos1.distance(pos2);
-            
-            if (distance < 80 && distance > 0) {
-                Vector2 direction = pos1.subtract(pos2).normalize();
-                float strength = (80 - distance) / 80.0f;
-                avoidance = avoidance.add(direction.multiply(strength * 50));
+        int bucketCount = avoidanceGrid.gatherNeighbourBuckets(x, y, buckets);
+        for (int b = 0; b < bucketCount; b++) {
+            int end = avoidanceGrid.bucketEnd(buckets[b]);
+            for (int k = avoidanceGrid.bucketBegin(buckets[b]); k < end; k++) {
+                int other = avoidanceGrid.entryAt(k);
+                if (other == index) continue;
+                
+                float dx = x - avoidanceX[other];
+                float dy = y - avoidanceY[other];
+                float distanceSq = dx * dx + dy * dy;
+                if (distanceSq < AVOIDANCE_RADIUS * AVOIDANCE_RADIUS && distanceSq > 0) {
+                    float distance = (float) Math.sqrt(distanceSq);
+                    float strength = (AVOIDANCE_RADIUS - distance) / AVOIDANCE_RADIUS;
+                    avoidX += dx / distance * strength * 50;
+                    avoidY += dy / distance * strength * 50;
+                }
             }
         }
         
-        if (avoidance.magnitude() > 0) {
-            Vector2 currentVelocity = physics1.getVelocity();
+        float magnitude = (float) Math.sqrt(avoidX * avoidX + avoidY * avoidY);
+        if (magnitude > 0) {
+            PhysicsComponent physics = avoidancePhysics[index];
+            float currentX = avoidanceVelX[index];
+            float currentY = avoidanceVelY[index];
             float lerpFactor = 0.15f;
-            Vector2 avoidanceDirection = avoidance.normalize();
-            float avoidanceStrength = Math.min(avoidance.magnitude(), 50f);
-            
-            Vector2 targetVelocity = currentVelocity.add(
-                avoidanceDirection.multiply(avoidanceStrength * deltaTime * 10)
-            );
+            float push = Math.min(magnitude, 50f) * deltaTime * 10 / magnitude;
             
-            Vector2 newVelocity = new Vector2(
-                currentVelocity.x + (targetVelocity.x - currentVelocity.x) * lerpFactor,
-                currentVelocity.y + (targetVelocity.y - currentVelocity.y) * lerpFactor
-            );
+            // 向 (当前速度 + 避让方向 * 强度) 插值
+            float newX = currentX + avoidX * push * lerpFactor;
+            float newY = currentY + avoidY * push * lerpFactor;
             
             float maxSpeed = 150f;
-            if (newVelocity.magnitude() > maxSpeed) {
-                newVelocity = newVelocity.normalize().multiply(maxSpeed);
+            float speed = (float) Math.sqrt(newX * newX + newY * newY);
+            if (speed > maxSpeed) {
+                newX = newX / speed * maxSpeed;
+                newY = newY / speed * maxSpeed;
             }
             
-            physics1.setVelocity(newVelocity);
+            physics.setVelocity(newX, newY);
         }
     }
     
-    public void checkCollisions() {
-        if (gameOver) return;
-        
-        GameObject userPlayer = getUserPlayer();
-        if (userPlayer == null) return;
-        
-        TransformComponent playerTransform = userPlayer.getComponent(TransformComponent.class);
-        if (playerTransform == null) return;
-        
-        Vector2 playerPos = playerTransform.getPosition();
-        
-        List<GameObject> aiPlayers = getAIPlayers();
-        for (GameObject aiPlayer : aiPlayers) {
-            TransformComponent aiTransform = aiPlayer.getComponent(TransformComponent.class);
-            if (aiTransform != null) {
-                float distance = playerPos.distance(aiTransform.getPosition());
-                if (distance < 30) {
+    // 注册到碰撞系统：玩家与任一 AI 开始接触即判定游戏结束
+    public void attachCollisionSystem(CollisionSystem collisionSystem) {
+        if (collisionSystem == null) return;
+        collisionSystem.addListener(new CollisionListener() {
+            @Override
+            public void onCollisionEnter(ColliderComponent a, ColliderComponent b) {
+                if (isPlayerVersusAI(a.getOwner(), b.getOwner()) || isPlayerVersusAI(b.getOwner(), a.getOwner())) {
                     gameOver = true;
-                    return;
                 }
             }
-        }
+        });
+    }
+    
+    private boolean isPlayerVersusAI(GameObject player, GameObject other) {
+        return player.getTag() == PLAYER_TAG && other.getTag() == AI_PLAYER_TAG && other.isActive();
     }
 }
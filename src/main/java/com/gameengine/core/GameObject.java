@@ -1,21 +1,44 @@
 package com.gameengine.core;
 
+import com.gameengine.scene.Archetype;
+import com.gameengine.scene.Scene;
+
 import java.util.*;
 
 public class GameObject {
+    private static final int[] NO_SLOTS = new int[0];
     protected boolean active;
     protected String name;
+    // 由名称驻留得到的标签；场景据此维护按标签的索引
+    private Tag tag;
+    private int tagSlot = -1;
     protected final List<Component<?>> components;
+    // 按 ComponentType id 下标存放组件（父类型槽位也指向该组件，保持 isInstance 语义）
+    private Component<?>[] slots;
+    // 所属场景及在 Archetype 中的位置（由 Scene 维护）
+    private Scene scene;
+    private Archetype archetype;
+    private int archetypeRow = -1;
+    // 所在区块及其成员数组中的槽位（场景启用 ChunkGrid 时由其维护）
+    private int chunk = -1;
+    private int chunkSlot = -1;
+    // 在场景各 SceneQuery 中的槽位，按查询 id 下标（-1 表示不在该查询中）
+    private int[] querySlots = NO_SLOTS;
+    // 来源对象池；不为空时场景在对象失活后将其归还而不是丢弃
+    private ObjectPool<GameObject> pool;
     
     public GameObject() {
         this.active = true;
         this.name = "GameObject";
+        this.tag = Tag.of(name);
         this.components = new ArrayList<>();
+        this.slots = new Component<?>[8];
     }
     
     public GameObject(String name) {
         this();
         this.name = name;
+        this.tag = Tag.of(name);
     }
     
     public void update(float deltaTime) {
@@ -30,41 +53,71 @@ public class GameObject {
     }
     
     public void destroy() {
-        this.active = false;
+        setActive(false);
+        this.pool = null;
         for (Component<?> component : components) {
             component.destroy();
         }
         components.clear();
+        Arrays.fill(slots, null);
+    }
+    
+    // 归还对象池前由池的重置回调调用：组件保留并恢复初始运行状态
+    public void reset() {
+        this.active = true;
+        for (int i = 0; i < components.size(); i++) {
+            components.get(i).reset();
+        }
     }
     
     public <T extends Component<T>> T addComponent(T component) {
         component.setOwner(this);
         components.add(component);
+        registerSlots(component);
         component.initialize();
+        if (scene != null) {
+            scene.onComponentsChanged(this);
+        }
         return component;
     }
     
-    @SuppressWarnings("unchecked")
-    public <T extends Component<T>> T getComponent(Class<T> componentType) {
-        for (Component<?> component : components) {
-            if (componentType.isInstance(component)) {
-                return (T) component;
+    private void registerSlots(Component<?> component) {
+        Class<?> type = component.getClass();
+        while (type != null && type != Component.class) {
+            int id = ComponentType.idOf(type);
+            if (id >= slots.length) {
+                slots = Arrays.copyOf(slots, Math.max(id + 1, slots.length * 2));
             }
+            // 与原先按插入顺序查找一致：同类型只保留第一个
+            if (slots[id] == null) {
+                slots[id] = component;
+            }
+            type = type.getSuperclass();
         }
-        return null;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public <T extends Component<T>> T getComponent(ComponentType<T> componentType) {
+        int id = componentType.getId();
+        return id < slots.length ? (T) slots[id] : null;
+    }
+    
+    public <T extends Component<T>> boolean hasComponent(ComponentType<T> componentType) {
+        return getComponent(componentType) != null;
+    }
+    
+    public <T extends Component<T>> T getComponent(Class<T> componentType) {
+        return getComponent(ComponentType.of(componentType));
     }
     
     public <T extends Component<T>> boolean hasComponent(Class<T> componentType) {
-        for (Component<?> component : components) {
-            if (componentType.isInstance(component)) {
-                return true;
-            }
-        }
-        return false;
+        return getComponent(ComponentType.of(componentType)) != null;
     }
     
+    // 按下标遍历：每 tick 对每个对象调用，不创建迭代器
     public void updateComponents(float deltaTime) {
-        for (Component<?> component : components) {
+        for (int i = 0; i < components.size(); i++) {
+            Component<?> component = components.get(i);
             if (component.isEnabled()) {
                 component.update(deltaTime);
             }
@@ -72,7 +125,8 @@ public class GameObject {
     }
     
     public void renderComponents() {
-        for (Component<?> component : components) {
+        for (int i = 0; i < components.size(); i++) {
+            Component<?> component = components.get(i);
             if (component.isEnabled()) {
                 component.render();
             }
@@ -84,7 +138,11 @@ public class GameObject {
     }
     
     public void setActive(boolean active) {
+        boolean wasActive = this.active;
         this.active = active;
+        if (wasActive && !active && scene != null) {
+            scene.onDeactivated(this);
+        }
     }
     
     public String getName() {
@@ -93,5 +151,78 @@ public class GameObject {
     
     public void setName(String name) {
         this.name = name;
+        Tag oldTag = this.tag;
+        this.tag = Tag.of(name);
+        if (scene != null && oldTag != tag) {
+            scene.onTagChanged(this, oldTag);
+        }
+    }
+    
+    public Tag getTag() {
+        return tag;
+    }
+    
+    public int getTagSlot() {
+        return tagSlot;
+    }
+    
+    public void setTagSlot(int tagSlot) {
+        this.tagSlot = tagSlot;
+    }
+    
+    public int getQuerySlot(int queryId) {
+        return queryId < querySlots.length ? querySlots[queryId] : -1;
+    }
+    
+    public void setQuerySlot(int queryId, int slot) {
+        if (queryId >= querySlots.length) {
+            if (slot < 0) return;
+            int oldLength = querySlots.length;
+            querySlots = Arrays.copyOf(querySlots, Math.max(queryId + 1, oldLength * 2));
+            Arrays.fill(querySlots, oldLength, querySlots.length, -1);
+        }
+        querySlots[queryId] = slot;
+    }
+    
+    public Scene getScene() {
+        return scene;
+    }
+    
+    public void setScene(Scene scene) {
+        this.scene = scene;
+    }
+    
+    public ObjectPool<GameObject> getPool() {
+        return pool;
+    }
+    
+    public void setPool(ObjectPool<GameObject> pool) {
+        this.pool = pool;
+    }
+    
+    public Archetype getArchetype() {
+        return archetype;
+    }
+    
+    public int getArchetypeRow() {
+        return archetypeRow;
+    }
+    
+    public void setArchetype(Archetype archetype, int row) {
+        this.archetype = archetype;
+        this.archetypeRow = row;
+    }
+    
+    public int getChunk() {
+        return chunk;
+    }
+    
+    public int getChunkSlot() {
+        return chunkSlot;
+    }
+    
+    public void setChunk(int chunk, int slot) {
+        this.chunk = chunk;
+        this.chunkSlot = slot;
     }
 }
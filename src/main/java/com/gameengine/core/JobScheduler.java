@@ -0,0 +1,100 @@
+package com.gameengine.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+// 引擎共享的工作窃取调度器（由 GameEngine 持有）：各系统把 [0, count) 的区间交给 parallelFor，
+// 按数据量自适应拆分为若干叶子任务；调用线程阻塞等待全部完成。
+public class JobScheduler {
+    // 区间任务：处理 [start, end)
+    public interface RangeJob {
+        void run(int start, int end);
+    }
+
+    // 未限制并行度时每个工作线程约分到的叶子任务数，便于窃取平衡负载
+    private static final int SPLITS_PER_WORKER = 4;
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+
+    public JobScheduler() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    public JobScheduler(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        this.pool = new ForkJoinPool(this.parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("engine-worker-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    // minGrain：每个叶子任务至少处理的元素数，总量不足两份时直接在调用线程执行；
+    // maxParallelism：该系统最多同时占用的工作线程数（<= 0 表示不限制）
+    public void parallelFor(int count, int minGrain, int maxParallelism, RangeJob job) {
+        if (count <= 0) return;
+        int grain = Math.max(1, minGrain);
+        int workers = maxParallelism > 0 ? Math.min(parallelism, maxParallelism) : parallelism;
+        if (workers <= 1 || count < grain * 2 || pool.isShutdown()) {
+            job.run(0, count);
+            return;
+        }
+        // 受限时叶子数恰为并行上限，保证同时运行的任务不超过该值；否则适度超分便于窃取
+        int leaves = workers < parallelism ? workers : workers * SPLITS_PER_WORKER;
+        leaves = Math.min(leaves, (count + grain - 1) / grain);
+        int leafSize = (count + leaves - 1) / leaves;
+        try {
+            pool.invoke(new RangeTask(job, 0, count, leafSize));
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 二分拆分直到区间不超过叶子大小
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeJob job;
+        private final int start;
+        private final int end;
+        private final int leafSize;
+
+        RangeTask(RangeJob job, int start, int end, int leafSize) {
+            this.job = job;
+            this.start = start;
+            this.end = end;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= leafSize) {
+                job.run(start, end);
+                return;
+            }
+            int leaves = (end - start + leafSize - 1) / leafSize;
+            int mid = start + (leaves / 2) * leafSize;
+            invokeAll(new RangeTask(job, start, mid, leafSize), new RangeTask(job, mid, end, leafSize));
+        }
+    }
+}
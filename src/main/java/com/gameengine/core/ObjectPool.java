@@ -0,0 +1,78 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// 通用对象池：acquire 优先复用空闲对象，release 时先执行重置回调再放回；超出容量的对象交给 GC。
+// 非线程安全，只在仿真线程使用。
+public class ObjectPool<T> {
+    private final Supplier<T> factory;
+    private final Consumer<T> resetter;
+    private final int maxSize;
+    private Object[] free;
+    private int freeCount;
+    private int createdCount;
+
+    public ObjectPool(Supplier<T> factory, Consumer<T> resetter) {
+        this(factory, resetter, 1024);
+    }
+
+    public ObjectPool(Supplier<T> factory, Consumer<T> resetter, int maxSize) {
+        this.factory = factory;
+        this.resetter = resetter;
+        this.maxSize = Math.max(1, maxSize);
+        this.free = new Object[Math.min(this.maxSize, 16)];
+        this.freeCount = 0;
+        this.createdCount = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if (freeCount > 0) {
+            T obj = (T) free[--freeCount];
+            free[freeCount] = null;
+            return obj;
+        }
+        createdCount++;
+        return factory.get();
+    }
+
+    public void release(T obj) {
+        if (obj == null) return;
+        if (resetter != null) {
+            resetter.accept(obj);
+        }
+        if (freeCount == maxSize) return;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, Math.min(maxSize, free.length * 2));
+        }
+        free[freeCount++] = obj;
+    }
+
+    // 预先创建对象，避免游戏开始后的首次分配
+    public void prewarm(int count) {
+        int target = Math.min(maxSize, count);
+        while (freeCount < target) {
+            release(factory.get());
+            createdCount++;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(free, 0, freeCount, null);
+        freeCount = 0;
+    }
+
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
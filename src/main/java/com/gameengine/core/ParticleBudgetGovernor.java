@@ -0,0 +1,135 @@
+package com.gameengine.core;
+
+// 粒子预算调节器：按最近帧的工作耗时（不含缓冲交换/垂直同步等待）的指数滑动平均调整全局质量系数，
+// 超出目标帧预算时按比例快速下调，明显低于预算时缓慢恢复。流水线模式下绘制开销落在渲染线程，
+// 工作耗时取仿真线程一帧与渲染线程最近一次快照回放中的较大者。系数同时作用于持续发射频率、
+// burst 数量与小粒子剔除尺寸，并统计因此少发射、少绘制的粒子数
+public class ParticleBudgetGovernor {
+    // 滑动平均的权重、下调倍率与每帧恢复量
+    private static final double SMOOTHING = 0.1;
+    private static final float DECREASE = 0.9f;
+    private static final float RECOVER = 0.02f;
+    // 平均耗时低于预算的该比例才开始恢复，避免在预算附近来回抖动
+    private static final double RECOVER_BELOW = 0.8;
+    // 开头的帧多半还没经过 JIT 编译、远超预算，不计入平均，只对持续的负载做出反应
+    private static final int WARMUP_FRAMES = 60;
+
+    private boolean enabled;
+    private double targetFrameMillis;
+    private float minScale;
+    // 系数降到 minScale 时剔除的最大粒子尺寸（像素），系数为 1 时不剔除
+    private float maxCullSize;
+    private double smoothedFrameMillis;
+    private int warmupFrames;
+    private float scale;
+
+    private long shedSpawns;
+    private long shedBurstParticles;
+    private long culledParticles;
+
+    public ParticleBudgetGovernor() {
+        this.enabled = true;
+        this.targetFrameMillis = 1000.0 / 60.0;
+        this.minScale = 0.1f;
+        this.maxCullSize = 6f;
+        this.smoothedFrameMillis = targetFrameMillis;
+        this.warmupFrames = WARMUP_FRAMES;
+        this.scale = 1f;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 关闭后系数回到 1，不再发射或剔除时打折
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            scale = 1f;
+        }
+    }
+
+    public double getTargetFrameMillis() {
+        return targetFrameMillis;
+    }
+
+    public void setTargetFrameMillis(double targetFrameMillis) {
+        this.targetFrameMillis = Math.max(0.1, targetFrameMillis);
+        if (warmupFrames > 0) {
+            smoothedFrameMillis = this.targetFrameMillis;
+        }
+    }
+
+    public void setMinScale(float minScale) {
+        this.minScale = Math.max(0f, Math.min(1f, minScale));
+    }
+
+    public void setMaxCullSize(float maxCullSize) {
+        this.maxCullSize = Math.max(0f, maxCullSize);
+    }
+
+    // 每帧结束时由引擎调用；平均值从目标预算起步，预热期内的帧直接跳过
+    public void recordFrame(long workNanos) {
+        if (warmupFrames > 0) {
+            warmupFrames--;
+            return;
+        }
+        double millis = workNanos / 1_000_000.0;
+        smoothedFrameMillis += (millis - smoothedFrameMillis) * SMOOTHING;
+        if (!enabled) return;
+        if (smoothedFrameMillis > targetFrameMillis) {
+            scale = Math.max(minScale, scale * DECREASE);
+        } else if (smoothedFrameMillis < targetFrameMillis * RECOVER_BELOW) {
+            scale = Math.min(1f, scale + RECOVER);
+        }
+    }
+
+    // 当前质量系数，1 表示不打折
+    public float getScale() {
+        return scale;
+    }
+
+    public double getSmoothedFrameMillis() {
+        return smoothedFrameMillis;
+    }
+
+    // 打折后的 burst 数量，少发的部分计入统计
+    public int scaleBurst(int amount) {
+        if (scale >= 1f || amount <= 0) return amount;
+        int kept = Math.round(amount * scale);
+        shedBurstParticles += amount - kept;
+        return kept;
+    }
+
+    // 渲染尺寸（size * alpha）小于该值的粒子不绘制
+    public float getCullSize() {
+        if (scale >= 1f) return 0f;
+        return maxCullSize * (1f - scale) / Math.max(1e-6f, 1f - minScale);
+    }
+
+    void addShedSpawn() {
+        shedSpawns++;
+    }
+
+    void addCulled(int count) {
+        culledParticles += count;
+    }
+
+    public long getShedSpawns() {
+        return shedSpawns;
+    }
+
+    public long getShedBurstParticles() {
+        return shedBurstParticles;
+    }
+
+    public long getCulledParticles() {
+        return culledParticles;
+    }
+
+    public void resetStats() {
+        shedSpawns = 0;
+        shedBurstParticles = 0;
+        culledParticles = 0;
+    }
+}
@@ -0,0 +1,538 @@
+package com.gameengine.core;
+
+import com.gameengine.graphics.IRenderer;
+import com.gameengine.graphics.ParticleBatch;
+import com.gameengine.math.Vector2;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+// 全局粒子管理器：所有发射器共享一个定长 SoA 粒子池，池容量即全局粒子预算；
+// 发射器只是轻量句柄（位置、配置、发射计时与随机流），release 后待其粒子全部消亡自动回收。
+// 串行路径下 update/render/burst 不分配内存（仅发射器槽位扩容时分配）；预算用尽时新粒子直接丢弃。
+// 粒子数达到并行阈值时积分按块交给调度器，大规模 burst 按固定块大小各用一条随机流并行生成
+public class ParticleManager {
+    // 每 tick 的速度衰减
+    private static final float DRAG = 0.98f;
+    // 并行积分每个叶子任务至少处理的粒子数
+    private static final int MIN_GRAIN = 2048;
+    // 大规模 burst 每块的粒子数；分块只取决于数量，与线程数无关，结果可复现
+    private static final int BURST_CHUNK = 4096;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // 发射器句柄；回收后槽位会被新发射器复用，调用 release 之后不应再持有该句柄
+    public static final class Emitter {
+        private final ParticleManager manager;
+        private final int slot;
+        private final Vector2 position;
+        private ParticleSystem.Config config;
+        private RandomGenerator random;
+        private float spawnRate;
+        private float timeSinceLastSpawn;
+        // 调节器打折时的发射额度：每次发射时机累加系数，满 1 才真正发射
+        private float spawnCredit;
+        private boolean active;
+        private boolean released;
+        private int particleCount;
+
+        private Emitter(ParticleManager manager, int slot) {
+            this.manager = manager;
+            this.slot = slot;
+            this.position = new Vector2();
+        }
+
+        // 重置发射状态并按配置生成初始粒子
+        void restart() {
+            this.spawnRate = config.spawnRate;
+            this.timeSinceLastSpawn = 0f;
+            this.spawnCredit = 0f;
+            this.active = true;
+            this.released = false;
+            for (int i = 0; i < config.initialCount; i++) {
+                spawnParticle();
+            }
+        }
+
+        public void setPosition(Vector2 position) {
+            if (position != null) {
+                this.position.set(position);
+            }
+        }
+
+        public void setPosition(float x, float y) {
+            this.position.x = x;
+            this.position.y = y;
+        }
+
+        public Vector2 getPosition() {
+            return position;
+        }
+
+        public ParticleSystem.Config getConfig() {
+            return config;
+        }
+
+        // 复用发射器时在 restart 之前换上新的随机流
+        public void setRandom(RandomGenerator random) {
+            this.random = random;
+        }
+
+        // 关闭后不再按 spawnRate 持续发射，已有粒子照常更新
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public void setSpawnRate(float rate) {
+            this.spawnRate = rate;
+        }
+
+        public int getParticleCount() {
+            return particleCount;
+        }
+
+        public boolean isReleased() {
+            return released;
+        }
+
+        // 停止发射；剩余粒子消亡后由管理器回收
+        public void release() {
+            this.released = true;
+            this.active = false;
+        }
+
+        void tick(float deltaTime) {
+            timeSinceLastSpawn += deltaTime;
+            if (timeSinceLastSpawn >= spawnRate) {
+                timeSinceLastSpawn = 0f;
+                ParticleBudgetGovernor governor = manager.governor;
+                if (governor == null) {
+                    spawnParticle();
+                    return;
+                }
+                spawnCredit += governor.getScale();
+                if (spawnCredit >= 1f) {
+                    spawnCredit -= 1f;
+                    spawnParticle();
+                } else {
+                    governor.addShedSpawn();
+                }
+            }
+        }
+
+        private void spawnParticle() {
+            float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
+            float speed = config.speedMin + random.nextFloat() * (config.speedMax - config.speedMin);
+            float pvx = (float) (Math.cos(angle) * speed);
+            float pvy = (float) (Math.sin(angle) * speed);
+
+            float plife = config.lifeMin + random.nextFloat() * (config.lifeMax - config.lifeMin);
+            float psize = config.sizeMin + random.nextFloat() * (config.sizeMax - config.sizeMin);
+
+            float pr = config.r;
+            float pg = config.g;
+            float pb = config.b;
+
+            if (config.r < 1.0f) {
+                pr = config.r + random.nextFloat() * 0.2f;
+            }
+            if (config.g < 1.0f) {
+                pg = config.g + random.nextFloat() * 0.2f;
+            }
+
+            manager.add(this, position.x, position.y, pvx, pvy, plife, psize, pr, pg, pb);
+        }
+
+        public void burst(int amount) {
+            if (manager.governor != null) {
+                amount = manager.governor.scaleBurst(amount);
+            }
+            if (amount >= manager.parallelThreshold) {
+                manager.burstChunked(this, amount);
+                return;
+            }
+            for (int i = 0; i < amount; i++) {
+                float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
+                float speed = config.burstSpeedMin + random.nextFloat() * (config.burstSpeedMax - config.burstSpeedMin);
+                float pvx = (float) (Math.cos(angle) * speed);
+                float pvy = (float) (Math.sin(angle) * speed);
+
+                float plife = config.burstLifeMin + random.nextFloat() * (config.burstLifeMax - config.burstLifeMin);
+                float psize = config.burstSizeMin + random.nextFloat() * (config.burstSizeMax - config.burstSizeMin);
+
+                float pr = config.burstR;
+                float pg = config.burstGMin + random.nextFloat() * (config.burstGMax - config.burstGMin);
+                float pb = config.burstB;
+
+                manager.add(this, position.x, position.y, pvx, pvy, plife, psize, pr, pg, pb);
+            }
+        }
+    }
+
+    private final float[] x;
+    private final float[] y;
+    private final float[] vx;
+    private final float[] vy;
+    private final float[] life;
+    private final float[] maxLife;
+    private final float[] size;
+    private final float[] r;
+    private final float[] g;
+    private final float[] b;
+    private final float[] a;
+    // 粒子所属发射器的槽位
+    private final int[] owner;
+    private int count;
+    private int dropped;
+    private final IRenderer renderer;
+    // 每帧复用的绘制批次，容量按预算一次分配
+    private final ParticleBatch batch;
+    // 引擎共享调度器；为 null 时始终在调用线程上执行
+    private final JobScheduler scheduler;
+    // 可选的全局预算调节器，为 null 时不打折
+    private ParticleBudgetGovernor governor;
+    private int parallelThreshold;
+    private int maxParallelism;
+    private long[] burstSeeds;
+
+    // 发射器按槽位存放，槽位在发射器存活期间不变；回收的槽位压入空闲栈。
+    // 存活的发射器另按创建顺序排成紧凑数组，每 tick 只遍历它们，开销不随历史峰值的槽位数增长
+    private Emitter[] emitters;
+    private int emitterSlots;
+    private int[] freeSlots;
+    private int freeCount;
+    private Emitter[] liveEmitters;
+    private int emitterCount;
+
+    public ParticleManager(IRenderer renderer, int budget) {
+        this(renderer, budget, null);
+    }
+
+    public ParticleManager(IRenderer renderer, int budget, JobScheduler scheduler) {
+        int capacity = Math.max(1, budget);
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.vx = new float[capacity];
+        this.vy = new float[capacity];
+        this.life = new float[capacity];
+        this.maxLife = new float[capacity];
+        this.size = new float[capacity];
+        this.r = new float[capacity];
+        this.g = new float[capacity];
+        this.b = new float[capacity];
+        this.a = new float[capacity];
+        this.owner = new int[capacity];
+        this.renderer = renderer;
+        this.batch = new ParticleBatch(capacity);
+        this.scheduler = scheduler;
+        this.parallelThreshold = 16384;
+        this.maxParallelism = 0;
+        this.burstSeeds = new long[16];
+        this.emitters = new Emitter[16];
+        this.freeSlots = new int[16];
+        this.liveEmitters = new Emitter[16];
+    }
+
+    // 粒子数达到该值时积分交给调度器并行；单次 burst 达到该值时按块用独立随机流生成
+    public void setParallelThreshold(int threshold) {
+        this.parallelThreshold = Math.max(1, threshold);
+    }
+
+    public void setGovernor(ParticleBudgetGovernor governor) {
+        this.governor = governor;
+    }
+
+    // 粒子最多同时占用的工作线程数（<= 0 表示不限制）
+    public void setMaxParallelism(int maxParallelism) {
+        this.maxParallelism = maxParallelism;
+    }
+
+    // 创建发射器并立即按配置生成初始粒子
+    public Emitter createEmitter(Vector2 position, ParticleSystem.Config config, RandomGenerator random) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (emitterSlots == emitters.length) {
+                emitters = Arrays.copyOf(emitters, emitterSlots * 2);
+                freeSlots = Arrays.copyOf(freeSlots, emitterSlots * 2);
+            }
+            slot = emitterSlots++;
+            emitters[slot] = new Emitter(this, slot);
+        }
+        Emitter emitter = emitters[slot];
+        emitter.particleCount = 0;
+        emitter.config = config;
+        emitter.random = random;
+        emitter.setPosition(position);
+        if (emitterCount == liveEmitters.length) {
+            liveEmitters = Arrays.copyOf(liveEmitters, emitterCount * 2);
+        }
+        liveEmitters[emitterCount++] = emitter;
+        emitter.restart();
+        return emitter;
+    }
+
+    // 清空全部粒子后重新开始发射（单发射器的 ParticleSystem 复用时调用）
+    void restart(Emitter emitter) {
+        clearParticles();
+        emitter.restart();
+    }
+
+    public void update(float deltaTime) {
+        // 按创建顺序发射，确定性模式下各随机流的消耗顺序固定
+        for (int i = 0; i < emitterCount; i++) {
+            Emitter emitter = liveEmitters[i];
+            if (emitter.active) {
+                emitter.tick(deltaTime);
+            }
+        }
+
+        if (scheduler != null && count >= parallelThreshold) {
+            // 先并行积分，再在调用线程上从末尾向前移除死亡粒子；与下面的串行合并循环结果逐位相同
+            scheduler.parallelFor(count, MIN_GRAIN, maxParallelism, (start, end) -> integrate(start, end, deltaTime));
+            removeDead();
+            retireFinishedEmitters();
+            return;
+        }
+
+        // 从末尾向前更新：死亡粒子由末尾（已更新过的）粒子填补
+        for (int i = count - 1; i >= 0; i--) {
+            x[i] += vx[i] * deltaTime;
+            y[i] += vy[i] * deltaTime;
+            float remaining = life[i] - deltaTime;
+            life[i] = remaining;
+            if (remaining > 0) {
+                a[i] = remaining / maxLife[i];
+                vx[i] *= DRAG;
+                vy[i] *= DRAG;
+            } else {
+                emitters[owner[i]].particleCount--;
+                removeAt(i);
+            }
+        }
+
+        retireFinishedEmitters();
+    }
+
+    private void integrate(int start, int end, float deltaTime) {
+        for (int i = start; i < end; i++) {
+            x[i] += vx[i] * deltaTime;
+            y[i] += vy[i] * deltaTime;
+            float remaining = life[i] - deltaTime;
+            life[i] = remaining;
+            if (remaining > 0) {
+                a[i] = remaining / maxLife[i];
+                vx[i] *= DRAG;
+                vy[i] *= DRAG;
+            }
+        }
+    }
+
+    private void removeDead() {
+        for (int i = count - 1; i >= 0; i--) {
+            if (life[i] <= 0) {
+                emitters[owner[i]].particleCount--;
+                removeAt(i);
+            }
+        }
+    }
+
+    // 一次预留连续的粒子槽，按 BURST_CHUNK 分块；每块的种子由发射器随机流依次取出，
+    // 块内用 SplitMix64 生成，因此无论串行还是并行、线程数多少，结果都相同
+    private void burstChunked(Emitter emitter, int amount) {
+        int n = Math.max(0, Math.min(amount, Math.min(x.length - count, emitter.config.maxParticles - emitter.particleCount)));
+        dropped += amount - n;
+        if (n == 0) return;
+        int base = count;
+        count += n;
+        emitter.particleCount += n;
+        int chunks = (n + BURST_CHUNK - 1) / BURST_CHUNK;
+        if (burstSeeds.length < chunks) {
+            burstSeeds = new long[Math.max(chunks, burstSeeds.length * 2)];
+        }
+        for (int c = 0; c < chunks; c++) {
+            burstSeeds[c] = emitter.random.nextLong();
+        }
+        if (scheduler != null && chunks > 1) {
+            scheduler.parallelFor(chunks, 1, maxParallelism, (first, last) -> {
+                for (int c = first; c < last; c++) {
+                    fillBurst(emitter, base, n, c);
+                }
+            });
+        } else {
+            for (int c = 0; c < chunks; c++) {
+                fillBurst(emitter, base, n, c);
+            }
+        }
+    }
+
+    private void fillBurst(Emitter emitter, int base, int n, int chunk) {
+        ParticleSystem.Config config = emitter.config;
+        float px = emitter.position.x;
+        float py = emitter.position.y;
+        long state = burstSeeds[chunk];
+        int end = base + Math.min(n, (chunk + 1) * BURST_CHUNK);
+        for (int i = base + chunk * BURST_CHUNK; i < end; i++) {
+            float angle = (float) (unitFloat(state += GOLDEN_GAMMA) * 2.0 * Math.PI);
+            float speed = config.burstSpeedMin + unitFloat(state += GOLDEN_GAMMA) * (config.burstSpeedMax - config.burstSpeedMin);
+            float plife = config.burstLifeMin + unitFloat(state += GOLDEN_GAMMA) * (config.burstLifeMax - config.burstLifeMin);
+            x[i] = px;
+            y[i] = py;
+            vx[i] = (float) (Math.cos(angle) * speed);
+            vy[i] = (float) (Math.sin(angle) * speed);
+            life[i] = plife;
+            maxLife[i] = plife;
+            size[i] = config.burstSizeMin + unitFloat(state += GOLDEN_GAMMA) * (config.burstSizeMax - config.burstSizeMin);
+            r[i] = config.burstR;
+            g[i] = config.burstGMin + unitFloat(state += GOLDEN_GAMMA) * (config.burstGMax - config.burstGMin);
+            b[i] = config.burstB;
+            a[i] = 1.0f;
+            owner[i] = emitter.slot;
+        }
+    }
+
+    // SplitMix64 的输出混合，取高 24 位得到 [0, 1) 的 float
+    private static float unitFloat(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (z >>> 40) * 0x1.0p-24f;
+    }
+
+    // 一次遍历压缩存活数组，保留的发射器维持创建顺序
+    private void retireFinishedEmitters() {
+        int kept = 0;
+        for (int i = 0; i < emitterCount; i++) {
+            Emitter emitter = liveEmitters[i];
+            if (emitter.released && emitter.particleCount == 0) {
+                retire(emitter);
+            } else {
+                liveEmitters[kept++] = emitter;
+            }
+        }
+        Arrays.fill(liveEmitters, kept, emitterCount, null);
+        emitterCount = kept;
+    }
+
+    private void retire(Emitter emitter) {
+        emitter.config = null;
+        emitter.random = null;
+        freeSlots[freeCount++] = emitter.slot;
+    }
+
+    private void removeAt(int i) {
+        int last = --count;
+        if (i == last) return;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        life[i] = life[last];
+        maxLife[i] = maxLife[last];
+        size[i] = size[last];
+        r[i] = r[last];
+        g[i] = g[last];
+        b[i] = b[last];
+        a[i] = a[last];
+        owner[i] = owner[last];
+    }
+
+    // 全局预算或发射器自身的 maxParticles 用尽时丢弃
+    private void add(Emitter emitter, float px, float py, float pvx, float pvy, float plife, float psize, float pr, float pg, float pb) {
+        if (count == x.length || emitter.particleCount >= emitter.config.maxParticles) {
+            dropped++;
+            return;
+        }
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        life[i] = plife;
+        maxLife[i] = plife;
+        size[i] = psize;
+        r[i] = pr;
+        g[i] = pg;
+        b[i] = pb;
+        a[i] = 1.0f;
+        owner[i] = emitter.slot;
+        emitter.particleCount++;
+    }
+
+    public void render() {
+        render(0f, 0f);
+    }
+
+    // 按相机偏移把世界坐标换算到屏幕，可见粒子填入一个批次后整批提交；
+    // 透明度系数与最小尺寸取自所属发射器的配置，调节器打折时先剔除最小、最淡的粒子
+    public void render(float cameraX, float cameraY) {
+        if (renderer == null) return;
+
+        float maxW = renderer.getWidth();
+        float maxH = renderer.getHeight();
+        ParticleBatch batch = this.batch;
+        batch.clear();
+        float cullSize = governor != null ? governor.getCullSize() : 0f;
+        int culled = 0;
+        for (int i = 0; i < count; i++) {
+            float px = x[i] - cameraX;
+            float py = y[i] - cameraY;
+            if (px < -50 || px > maxW + 50 || py < -50 || py > maxH + 50) continue;
+            ParticleSystem.Config config = emitters[owner[i]].config;
+            float alpha = Math.min(1.0f, Math.max(0.0f, a[i])) * config.opacityMultiplier;
+            if (alpha <= 0.01f) continue;
+            if (size[i] * alpha < cullSize) {
+                culled++;
+                continue;
+            }
+
+            batch.add(px, py, Math.max(config.minRenderSize, size[i] * alpha),
+                Math.min(1.0f, Math.max(0.0f, r[i])),
+                Math.min(1.0f, Math.max(0.0f, g[i])),
+                Math.min(1.0f, Math.max(0.0f, b[i])),
+                alpha);
+        }
+        if (culled > 0) {
+            governor.addCulled(culled);
+        }
+        renderer.drawParticles(batch);
+    }
+
+    public int getParticleCount() {
+        return count;
+    }
+
+    // 全局粒子预算
+    public int getCapacity() {
+        return x.length;
+    }
+
+    // 因预算用尽被丢弃的粒子累计数
+    public int getDroppedCount() {
+        return dropped;
+    }
+
+    public int getEmitterCount() {
+        return emitterCount;
+    }
+
+    // 清空粒子，发射器保留；已 release 的发射器随之回收
+    public void clearParticles() {
+        count = 0;
+        for (int i = 0; i < emitterCount; i++) {
+            liveEmitters[i].particleCount = 0;
+        }
+        retireFinishedEmitters();
+    }
+
+    // 清空粒子并回收全部发射器（切换场景时调用）
+    public void clear() {
+        count = 0;
+        for (int i = 0; i < emitterCount; i++) {
+            Emitter emitter = liveEmitters[i];
+            emitter.particleCount = 0;
+            retire(emitter);
+        }
+        Arrays.fill(liveEmitters, 0, emitterCount, null);
+        emitterCount = 0;
+    }
+}
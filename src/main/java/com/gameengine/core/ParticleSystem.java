@@ -2,82 +2,18 @@ package com.gameengine.core;
 
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Iterator;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
+// 单发射器粒子系统：独占一个容量为 Config.maxParticles 的 ParticleManager，
+// 适合独立使用；场景里的大量发射器应共享同一个 ParticleManager
 public class ParticleSystem {
-    private List<Particle> particles;
-    private Random random;
-    private IRenderer renderer;
-    private float spawnRate;
-    private float timeSinceLastSpawn;
-    private Vector2 position;
-    private boolean active;
-    
-    private Config config;
-    
-    private static class Particle {
-        private Vector2 position;
-        private Vector2 velocity;
-        private float life;
-        private float maxLife;
-        private float size;
-        private float r, g, b, a;
-        
-        public Particle(Vector2 position, Vector2 velocity, float life, float size, float r, float g, float b) {
-            this.position = new Vector2(position);
-            this.velocity = new Vector2(velocity);
-            this.maxLife = life;
-            this.life = life;
-            this.size = size;
-            this.r = r;
-            this.g = g;
-            this.b = b;
-            this.a = 1.0f;
-        }
-        
-        public void update(float deltaTime) {
-            position = position.add(velocity.multiply(deltaTime));
-            life -= deltaTime;
-            
-            if (life > 0) {
-                a = life / maxLife;
-                velocity = velocity.multiply(0.98f);
-            }
-        }
-        
-        public boolean isAlive() {
-            return life > 0;
-        }
-        
-        public Vector2 getPosition() {
-            return new Vector2(position);
-        }
-        
-        public float getSize() {
-            return size;
-        }
-        
-        public float getR() {
-            return r;
-        }
-        
-        public float getG() {
-            return g;
-        }
-        
-        public float getB() {
-            return b;
-        }
-        
-        public float getA() {
-            return a;
-        }
-    }
+    private final ParticleManager manager;
+    private final ParticleManager.Emitter emitter;
     
     public static class Config {
+        // 单个发射器同时存活的粒子上限；独立的 ParticleSystem 以此作为池容量
+        public int maxParticles = 512;
         public float spawnRate = 0.015f;
         public int initialCount = 30;
         public float speedMin = 40f;
@@ -145,135 +81,68 @@ public class ParticleSystem {
     }
     
     public ParticleSystem(IRenderer renderer, Vector2 position, Config config) {
-        this.particles = new ArrayList<>();
-        this.random = new Random();
-        this.renderer = renderer;
-        this.position = new Vector2(position);
-        this.config = config;
-        this.spawnRate = config.spawnRate;
-        this.timeSinceLastSpawn = 0f;
-        this.active = true;
-        
-        for (int i = 0; i < config.initialCount; i++) {
-            spawnParticle();
-        }
+        this(renderer, position, config, new SplittableRandom());
+    }
+    
+    // 确定性模式下传入由引擎种子派生的随机流
+    public ParticleSystem(IRenderer renderer, Vector2 position, Config config, RandomGenerator random) {
+        this.manager = new ParticleManager(renderer, config.maxParticles);
+        this.emitter = manager.createEmitter(position, config, random);
+    }
+    
+    // 对象池复用发射器时在 restart 之前换上新的随机流
+    public void setRandom(RandomGenerator random) {
+        emitter.setRandom(random);
     }
     
     public void setActive(boolean active) {
-        this.active = active;
+        emitter.setActive(active);
     }
     
     public void setPosition(Vector2 position) {
-        if (position != null) {
-            this.position = new Vector2(position);
-        }
+        emitter.setPosition(position);
     }
     
-    public void update(float deltaTime) {
-        if (active) {
-            timeSinceLastSpawn += deltaTime;
-            if (timeSinceLastSpawn >= spawnRate) {
-                spawnParticle();
-                timeSinceLastSpawn = 0f;
-            }
-        }
-        
-        Iterator<Particle> iterator = particles.iterator();
-        while (iterator.hasNext()) {
-            Particle particle = iterator.next();
-            particle.update(deltaTime);
-            if (!particle.isAlive()) {
-                iterator.remove();
-            }
-        }
+    // 从对象池取出复用时调用：移到新位置并按配置重新生成初始粒子
+    public void restart(Vector2 position) {
+        emitter.setPosition(position);
+        manager.restart(emitter);
     }
     
-    private void spawnParticle() {
-        if (position == null) return;
-        
-        float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
-        float speed = config.speedMin + random.nextFloat() * (config.speedMax - config.speedMin);
-        Vector2 velocity = new Vector2(
-            (float) (Math.cos(angle) * speed),
-            (float) (Math.sin(angle) * speed)
-        );
-        
-        float life = config.lifeMin + random.nextFloat() * (config.lifeMax - config.lifeMin);
-        float size = config.sizeMin + random.nextFloat() * (config.sizeMax - config.sizeMin);
-        
-        float r = config.r;
-        float g = config.g;
-        float b = config.b;
-        
-        if (config.r < 1.0f) {
-            r = config.r + random.nextFloat() * 0.2f;
-        }
-        if (config.g < 1.0f) {
-            g = config.g + random.nextFloat() * 0.2f;
-        }
-        
-        Particle particle = new Particle(new Vector2(position), velocity, life, size, r, g, b);
-        particles.add(particle);
+    public void update(float deltaTime) {
+        manager.update(deltaTime);
     }
     
     public void setSpawnRate(float rate) {
-        this.spawnRate = rate;
+        emitter.setSpawnRate(rate);
     }
     
     public void render() {
-        if (renderer == null) return;
-        
-        for (Particle particle : particles) {
-            Vector2 pos = particle.getPosition();
-            float size = particle.getSize();
-            
-            float r = Math.min(1.0f, Math.max(0.0f, particle.getR()));
-            float g = Math.min(1.0f, Math.max(0.0f, particle.getG()));
-            float b = Math.min(1.0f, Math.max(0.0f, particle.getB()));
-            float a = Math.min(1.0f, Math.max(0.0f, particle.getA())) * config.opacityMultiplier;
-            
-            float maxW = renderer != null ? renderer.getWidth() : 1920;
-            float maxH = renderer != null ? renderer.getHeight() : 1080;
-            if (a > 0.01f && pos.x >= -50 && pos.x <= maxW + 50 && pos.y >= -50 && pos.y <= maxH + 50) {
-                float renderSize = Math.max(config.minRenderSize, size * a);
-                try {
-                    renderer.drawRect(
-                        pos.x - renderSize * 0.5f, pos.y - renderSize * 0.5f, 
-                        renderSize, renderSize,
-                        r, g, b, a
-                    );
-                } catch (Exception e) {
-                }
-            }
-        }
+        manager.render(0f, 0f);
     }
     
-    public void burst(int count) {
-        for (int i = 0; i < count; i++) {
-            float angle = (float) (random.nextFloat() * 2.0 * Math.PI);
-            float speed = config.burstSpeedMin + random.nextFloat() * (config.burstSpeedMax - config.burstSpeedMin);
-            Vector2 velocity = new Vector2(
-                (float) (Math.cos(angle) * speed),
-                (float) (Math.sin(angle) * speed)
-            );
-            
-            float life = config.burstLifeMin + random.nextFloat() * (config.burstLifeMax - config.burstLifeMin);
-            float size = config.burstSizeMin + random.nextFloat() * (config.burstSizeMax - config.burstSizeMin);
-            
-            float r = config.burstR;
-            float g = config.burstGMin + random.nextFloat() * (config.burstGMax - config.burstGMin);
-            float b = config.burstB;
-            
-            Particle particle = new Particle(new Vector2(position), velocity, life, size, r, g, b);
-            particles.add(particle);
-        }
+    public void render(float cameraX, float cameraY) {
+        manager.render(cameraX, cameraY);
+    }
+    
+    public void burst(int amount) {
+        emitter.burst(amount);
     }
     
     public int getParticleCount() {
-        return particles.size();
+        return manager.getParticleCount();
+    }
+    
+    public int getCapacity() {
+        return manager.getCapacity();
+    }
+    
+    // 因池满被丢弃的粒子累计数
+    public int getDroppedCount() {
+        return manager.getDroppedCount();
     }
     
     public void clear() {
-        particles.clear();
+        manager.clearParticles();
     }
 }
@@ -0,0 +1,35 @@
+package com.gameengine.core;
+
+import com.gameengine.scene.Archetype;
+
+// 物理积分与边界处理的计算内核，作用于 Archetype 的 [start, end) 行。
+// 启动时通过 -Dengine.physics.kernel=scalar|vector 选择；向量内核依赖 jdk.incubator.vector，
+// 运行时未加入该模块（--add-modules jdk.incubator.vector）时自动回退到标量内核。
+public interface PhysicsKernel {
+    String PROPERTY = "engine.physics.kernel";
+
+    String getName();
+
+    void integrate(Archetype archetype, int start, int end, float deltaTime);
+
+    void bounce(Archetype archetype, int start, int end, float maxX, float maxY);
+
+    static PhysicsKernel fromSystemProperty() {
+        return create(System.getProperty(PROPERTY, "scalar"));
+    }
+
+    static PhysicsKernel create(String name) {
+        if ("vector".equalsIgnoreCase(name)) {
+            try {
+                // 反射加载，避免未启用孵化模块时本接口所在的类也无法链接
+                return (PhysicsKernel) Class.forName("com.gameengine.core.VectorPhysicsKernel")
+                    .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("向量物理内核不可用（需 --add-modules jdk.incubator.vector），改用标量内核: " + e);
+            }
+        } else if (name != null && !"scalar".equalsIgnoreCase(name)) {
+            System.err.println("未知的物理内核: " + name + "，改用标量内核");
+        }
+        return ScalarPhysicsKernel.INSTANCE;
+    }
+}
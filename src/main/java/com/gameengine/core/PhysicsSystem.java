@@ -1,145 +1,234 @@
 package com.gameengine.core;
 
-import com.gameengine.components.TransformComponent;
-import com.gameengine.components.PhysicsComponent;
-import com.gameengine.math.Vector2;
+import com.gameengine.scene.Archetype;
+import com.gameengine.scene.ChunkGrid;
 import com.gameengine.scene.Scene;
 
 import java.util.List;
-import java.util.ArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 
 public class PhysicsSystem {
+    // 每个并行叶子任务至少处理的行数
+    private static final int MIN_GRAIN = 256;
+    
     private Scene scene;
-    private ExecutorService physicsExecutor;
+    // 引擎共享调度器；为 null 时始终在调用线程上执行
+    private JobScheduler scheduler;
     private int screenWidth;
     private int screenHeight;
+    // 物理对象数量达到该值时才交给调度器并行；以下直接在调用线程上跑内核，不创建任务对象
+    private int parallelThreshold;
+    private int maxParallelism;
+    // 积分与边界处理的计算内核（标量或向量），默认由启动参数决定
+    private PhysicsKernel kernel;
+    // 速度低于 sleepSpeed 连续 sleepDelayTicks 个 tick 的物体进入休眠，不再积分与做边界处理，
+    // 直到施力、冲量、设置速度/位置等写入将其唤醒
+    private boolean sleepingEnabled;
+    private float sleepSpeed;
+    private int sleepDelayTicks;
+    // 关闭休眠后在下一步把已休眠的物体全部唤醒
+    private boolean wakeAllSleeping;
+    private int awakeBodies;
+    private int sleepingBodies;
     
     public PhysicsSystem(Scene scene) {
         this(scene, 1920, 1080);
     }
     
     public PhysicsSystem(Scene scene, int screenWidth, int screenHeight) {
+        this(scene, screenWidth, screenHeight, null);
+    }
+    
+    public PhysicsSystem(Scene scene, int screenWidth, int screenHeight, JobScheduler scheduler) {
         this.scene = scene;
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
-        int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
-        this.physicsExecutor = Executors.newFixedThreadPool(threadCount);
+        this.scheduler = scheduler;
+        this.parallelThreshold = 1024;
+        this.maxParallelism = 0;
+        this.kernel = PhysicsKernel.fromSystemProperty();
+        this.sleepingEnabled = true;
+        this.sleepSpeed = 1.0f;
+        this.sleepDelayTicks = 30;
+    }
+    
+    // 关闭时立即唤醒所有休眠物体（在下一步开始时生效）
+    public void setSleepingEnabled(boolean sleepingEnabled) {
+        if (this.sleepingEnabled && !sleepingEnabled) {
+            wakeAllSleeping = true;
+        }
+        this.sleepingEnabled = sleepingEnabled;
+    }
+    
+    public boolean isSleepingEnabled() {
+        return sleepingEnabled;
+    }
+    
+    // 休眠速度阈值（像素/秒）
+    public void setSleepSpeed(float sleepSpeed) {
+        this.sleepSpeed = Math.max(0f, sleepSpeed);
+    }
+    
+    public void setSleepDelayTicks(int sleepDelayTicks) {
+        this.sleepDelayTicks = Math.max(1, sleepDelayTicks);
+    }
+    
+    public int getAwakeBodyCount() {
+        return awakeBodies;
+    }
+    
+    // 休眠段中的物体数，包括所在区块被冻结的物体
+    public int getSleepingBodyCount() {
+        return sleepingBodies;
+    }
+    
+    public PhysicsKernel getKernel() {
+        return kernel;
+    }
+    
+    public void setKernel(PhysicsKernel kernel) {
+        this.kernel = kernel != null ? kernel : ScalarPhysicsKernel.INSTANCE;
+    }
+    
+    public void setParallelThreshold(int threshold) {
+        this.parallelThreshold = Math.max(0, threshold);
+    }
+    
+    // 物理最多同时占用的工作线程数（<= 0 表示不限制）
+    public void setMaxParallelism(int maxParallelism) {
+        this.maxParallelism = maxParallelism;
     }
     
     public void update(float deltaTime) {
-        List<PhysicsComponent> physicsComponents = scene.getComponents(PhysicsComponent.class);
-        if (physicsComponents.isEmpty()) return;
-        
-        int threadCount = Runtime.getRuntime().availableProcessors() - 1;
-        threadCount = Math.max(2, threadCount);
-        int batchSize = Math.max(1, physicsComponents.size() / threadCount + 1);
-        
-        List<Future<?>> futures = new ArrayList<>();
+        List<Archetype> archetypes = scene.getArchetypeStore().getArchetypes();
+        ChunkGrid grid = scene.getChunkGrid();
+        if (grid != null) {
+            thawChunks(grid);
+        }
         
-        for (int i = 0; i < physicsComponents.size(); i += batchSize) {
-            final int start = i;
-            final int end = Math.min(i + batchSize, physicsComponents.size());
-            
-            Future<?> future = physicsExecutor.submit(() -> {
-                for (int j = start; j < end; j++) {
-                    PhysicsComponent physics = physicsComponents.get(j);
-                    if (physics.isEnabled()) {
-                        updatePhysics(physics, deltaTime);
-                        handleBoundary(physics);
-                    }
+        int bodies = 0;
+        for (int a = 0; a < archetypes.size(); a++) {
+            Archetype archetype = archetypes.get(a);
+            if (archetype.hasPhysics()) {
+                boolean pending = archetype.takeWakePending();
+                if (pending || wakeAllSleeping) {
+                    wakeRequested(archetype, grid);
+                }
+                // 积分前停下位于冻结区块的行：上一步越界进入冻结区块的物体与新加入的物体都不再移动
+                if (grid != null) {
+                    freezeBodies(archetype, grid);
                 }
-            });
+                bodies += archetype.getAwakeCount();
+            }
+        }
+        wakeAllSleeping = false;
+        boolean parallel = scheduler != null && bodies >= parallelThreshold;
+        PhysicsKernel kernel = this.kernel;
+        // 有区块划分时以世界尺寸为边界，否则为屏幕
+        float maxX = (grid != null ? grid.getWorldWidth() : screenWidth) - 15;
+        float maxY = (grid != null ? grid.getWorldHeight() : screenHeight) - 15;
+        
+        // 按 Archetype 的连续行分段，段内线性遍历基本类型数组
+        for (int a = 0; a < archetypes.size(); a++) {
+            Archetype archetype = archetypes.get(a);
+            if (!archetype.hasPhysics()) continue;
+            // 只处理清醒段，休眠物体不产生任何开销
+            int count = archetype.getAwakeCount();
+            if (count == 0) continue;
             
-            futures.add(future);
+            if (parallel) {
+                scheduler.parallelFor(count, MIN_GRAIN, maxParallelism, (start, end) -> {
+                    kernel.integrate(archetype, start, end, deltaTime);
+                    kernel.bounce(archetype, start, end, maxX, maxY);
+                });
+            } else {
+                kernel.integrate(archetype, 0, count, deltaTime);
+                kernel.bounce(archetype, 0, count, maxX, maxY);
+            }
         }
         
-        for (Future<?> future : futures) {
-            try {
-                future.get();
-            } catch (Exception e) {
-                e.printStackTrace();
+        awakeBodies = 0;
+        sleepingBodies = 0;
+        for (int a = 0; a < archetypes.size(); a++) {
+            Archetype archetype = archetypes.get(a);
+            if (!archetype.hasPhysics()) continue;
+            if (sleepingEnabled) {
+                putSlowBodiesToSleep(archetype);
             }
+            awakeBodies += archetype.getAwakeCount();
+            sleepingBodies += archetype.size() - archetype.getAwakeCount();
         }
     }
     
-    private void updatePhysics(PhysicsComponent physics, float deltaTime) {
-        GameObject owner = physics.getOwner();
-        if (owner == null) return;
-        
-        TransformComponent transform = owner.getComponent(TransformComponent.class);
-        if (transform == null) return;
-        
-        Vector2 acceleration = physics.getAcceleration();
-        
-        if (physics.isUseGravity()) {
-            acceleration = acceleration.add(physics.getGravity());
-            physics.setAcceleration(acceleration);
+    // 刚恢复仿真的区块：其中因冻结而停下的物体回到清醒段（因低速休眠的保持休眠）
+    private void thawChunks(ChunkGrid grid) {
+        for (int i = 0; i < grid.getThawedChunkCount(); i++) {
+            int chunk = grid.getThawedChunk(i);
+            for (int k = 0; k < grid.getMemberCount(chunk); k++) {
+                GameObject obj = grid.getMember(chunk, k);
+                Archetype archetype = obj.getArchetype();
+                if (archetype == null || !archetype.hasPhysics()) continue;
+                int row = obj.getArchetypeRow();
+                if (archetype.isAsleep(row) && archetype.sleepTicks[row] == Archetype.FROZEN) {
+                    archetype.wakeRow(row);
+                }
+            }
         }
-        
-        Vector2 velocity = physics.getVelocity();
-        velocity = velocity.add(acceleration.multiply(deltaTime));
-        velocity = velocity.multiply(physics.getFriction());
-        physics.setVelocity(velocity);
-        
-        Vector2 deltaPosition = velocity.multiply(deltaTime);
-        transform.translate(deltaPosition);
-        
-        physics.setAcceleration(new Vector2());
     }
     
-    private void handleBoundary(PhysicsComponent physics) {
-        GameObject owner = physics.getOwner();
-        if (owner == null) return;
-        
-        TransformComponent transform = owner.getComponent(TransformComponent.class);
-        if (transform == null) return;
-        
-        Vector2 pos = transform.getPosition();
-        Vector2 velocity = physics.getVelocity();
-        
-        boolean velocityChanged = false;
-        float velX = velocity.x;
-        float velY = velocity.y;
-        float posX = pos.x;
-        float posY = pos.y;
-        
-        if (posX <= 0 || posX >= screenWidth - 15) {
-            velX = -velX;
-            velocityChanged = true;
-        }
-        if (posY <= 0 || posY >= screenHeight - 15) {
-            velY = -velY;
-            velocityChanged = true;
+    // 休眠段中计数被组件改写（不再是 ASLEEP/FROZEN）的行移回清醒段，仍在冻结区块内的只恢复冻结标记；
+    // 关闭休眠时唤醒全部低速休眠的行。交换只会把已检查过的休眠行换到当前位置，因此顺序扫描即可
+    private void wakeRequested(Archetype archetype, ChunkGrid grid) {
+        int[] sleepTicks = archetype.sleepTicks;
+        for (int row = archetype.getAwakeCount(); row < archetype.size(); row++) {
+            int state = sleepTicks[row];
+            if (state >= 0) {
+                if (grid != null && grid.levelAt(archetype.posX[row], archetype.posY[row]) == ChunkGrid.FROZEN) {
+                    // 被挪进冻结区块后留在休眠段，上一位置不再逐 tick 拷贝，直接对齐
+                    sleepTicks[row] = Archetype.FROZEN;
+                    archetype.prevX[row] = archetype.posX[row];
+                    archetype.prevY[row] = archetype.posY[row];
+                } else {
+                    archetype.wakeRow(row);
+                }
+            } else if (state == Archetype.ASLEEP && wakeAllSleeping) {
+                archetype.wakeRow(row);
+            }
         }
-        
-        if (posX < 0) posX = 0;
-        if (posY < 0) posY = 0;
-        if (posX > screenWidth - 15) posX = screenWidth - 15;
-        if (posY > screenHeight - 15) posY = screenHeight - 15;
-        
-        transform.setPosition(new Vector2(posX, posY));
-        
-        if (velocityChanged) {
-            physics.setVelocity(new Vector2(velX, velY));
+    }
+    
+    // 从清醒段末尾向前扫描：停下的行与清醒段末行交换，换来的行已经检查过
+    private void freezeBodies(Archetype archetype, ChunkGrid grid) {
+        float[] posX = archetype.posX;
+        float[] posY = archetype.posY;
+        for (int row = archetype.getAwakeCount() - 1; row >= 0; row--) {
+            if (grid.levelAt(posX[row], posY[row]) == ChunkGrid.FROZEN) {
+                archetype.freezeRow(row);
+            }
         }
     }
     
-    public void cleanup() {
-        if (physicsExecutor != null && !physicsExecutor.isShutdown()) {
-            physicsExecutor.shutdown();
-            try {
-                if (!physicsExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
-                    physicsExecutor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                physicsExecutor.shutdownNow();
-                Thread.currentThread().interrupt();
+    private void putSlowBodiesToSleep(Archetype archetype) {
+        float[] velX = archetype.velX;
+        float[] velY = archetype.velY;
+        boolean[] enabled = archetype.physicsEnabled;
+        int[] sleepTicks = archetype.sleepTicks;
+        float limitSq = sleepSpeed * sleepSpeed;
+        for (int row = archetype.getAwakeCount() - 1; row >= 0; row--) {
+            float vx = velX[row];
+            float vy = velY[row];
+            if (enabled[row] && vx * vx + vy * vy >= limitSq) {
+                sleepTicks[row] = 0;
+                continue;
+            }
+            if (++sleepTicks[row] >= sleepDelayTicks) {
+                velX[row] = 0f;
+                velY[row] = 0f;
+                archetype.sleepRow(row);
             }
         }
     }
+    
+    // 线程由引擎的调度器持有，这里无需释放
+    public void cleanup() {
+    }
 }
-
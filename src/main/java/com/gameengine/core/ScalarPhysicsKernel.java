@@ -0,0 +1,82 @@
+package com.gameengine.core;
+
+import com.gameengine.scene.Archetype;
+
+// 逐行标量实现；也是向量内核处理尾部不足一整条向量的行时的参考语义
+public final class ScalarPhysicsKernel implements PhysicsKernel {
+    public static final ScalarPhysicsKernel INSTANCE = new ScalarPhysicsKernel();
+
+    private ScalarPhysicsKernel() {
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public void integrate(Archetype archetype, int start, int end, float deltaTime) {
+        float[] posX = archetype.posX;
+        float[] posY = archetype.posY;
+        float[] velX = archetype.velX;
+        float[] velY = archetype.velY;
+        float[] accX = archetype.accX;
+        float[] accY = archetype.accY;
+        float[] friction = archetype.friction;
+        boolean[] enabled = archetype.physicsEnabled;
+        boolean[] useGravity = archetype.useGravity;
+
+        for (int i = start; i < end; i++) {
+            if (!enabled[i]) continue;
+
+            float ax = accX[i];
+            float ay = accY[i];
+            if (useGravity[i]) {
+                ax += archetype.gravX[i];
+                ay += archetype.gravY[i];
+            }
+
+            float vx = (velX[i] + ax * deltaTime) * friction[i];
+            float vy = (velY[i] + ay * deltaTime) * friction[i];
+            velX[i] = vx;
+            velY[i] = vy;
+
+            posX[i] += vx * deltaTime;
+            posY[i] += vy * deltaTime;
+
+            accX[i] = 0;
+            accY[i] = 0;
+        }
+    }
+
+    @Override
+    public void bounce(Archetype archetype, int start, int end, float maxX, float maxY) {
+        float[] posX = archetype.posX;
+        float[] posY = archetype.posY;
+        float[] velX = archetype.velX;
+        float[] velY = archetype.velY;
+        boolean[] enabled = archetype.physicsEnabled;
+
+        for (int i = start; i < end; i++) {
+            if (!enabled[i]) continue;
+
+            float x = posX[i];
+            float y = posY[i];
+
+            if (x <= 0 || x >= maxX) {
+                velX[i] = -velX[i];
+            }
+            if (y <= 0 || y >= maxY) {
+                velY[i] = -velY[i];
+            }
+
+            if (x < 0) x = 0;
+            if (y < 0) y = 0;
+            if (x > maxX) x = maxX;
+            if (y > maxY) y = maxY;
+
+            posX[i] = x;
+            posY[i] = y;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.gameengine.core;
+
+import java.util.Arrays;
+
+// 均匀网格空间哈希：每 tick 用计数排序从坐标数组整体重建，格子按哈希落入桶中，
+// 桶内条目是调用方数组的下标。查询半径不超过格子边长时只需检查周围 3x3 格。
+public class SpatialHash {
+    private final float cellSize;
+    private final float inverseCellSize;
+    private int[] bucketStart;
+    private int[] entries;
+    private int[] entryBucket;
+    private int bucketMask;
+    private int count;
+
+    public SpatialHash(float cellSize) {
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1.0f / cellSize;
+        this.bucketStart = new int[17];
+        this.entries = new int[16];
+        this.entryBucket = new int[16];
+        this.bucketMask = 15;
+        this.count = 0;
+    }
+
+    public void build(float[] xs, float[] ys, int count) {
+        this.count = count;
+        if (entries.length < count) {
+            int capacity = Math.max(count, entries.length * 2);
+            entries = new int[capacity];
+            entryBucket = new int[capacity];
+        }
+        // 桶数取不小于 2 倍条目数的 2 的幂，保持哈希冲突较少
+        int buckets = Integer.highestOneBit(Math.max(16, count * 2) - 1) << 1;
+        if (bucketStart.length < buckets + 1) {
+            bucketStart = new int[buckets + 1];
+        } else {
+            Arrays.fill(bucketStart, 0, buckets + 1, 0);
+        }
+        bucketMask = buckets - 1;
+
+        for (int i = 0; i < count; i++) {
+            int bucket = bucketOf(cellOf(xs[i]), cellOf(ys[i]));
+            entryBucket[i] = bucket;
+            bucketStart[bucket]++;
+        }
+        // 前缀和得到各桶末尾，再倒序回填，结束时 bucketStart[b] 即桶 b 的起点
+        int sum = 0;
+        for (int b = 0; b < buckets; b++) {
+            sum += bucketStart[b];
+            bucketStart[b] = sum;
+        }
+        bucketStart[buckets] = count;
+        for (int i = count - 1; i >= 0; i--) {
+            entries[--bucketStart[entryBucket[i]]] = i;
+        }
+    }
+
+    public int cellOf(float v) {
+        return (int) Math.floor(v * inverseCellSize);
+    }
+
+    public int bucketOf(int cellX, int cellY) {
+        return ((cellX * 73856093) ^ (cellY * 19349663)) & bucketMask;
+    }
+
+    // 写出 (x, y) 所在格及周围 8 格对应的桶（去重，避免不同格哈希到同一桶时重复遍历），返回桶数
+    public int gatherNeighbourBuckets(float x, float y, int[] out) {
+        int cx = cellOf(x);
+        int cy = cellOf(y);
+        int n = 0;
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                int bucket = bucketOf(cx + dx, cy + dy);
+                boolean seen = false;
+                for (int k = 0; k < n; k++) {
+                    if (out[k] == bucket) {
+                        seen = true;
+                        break;
+                    }
+                }
+                if (!seen) {
+                    out[n++] = bucket;
+                }
+            }
+        }
+        return n;
+    }
+
+    public int bucketBegin(int bucket) {
+        return bucketStart[bucket];
+    }
+
+    public int bucketEnd(int bucket) {
+        return bucketStart[bucket + 1];
+    }
+
+    public int entryAt(int position) {
+        return entries[position];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+}
@@ -0,0 +1,39 @@
+package com.gameengine.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 驻留的对象标签：同名只存在一个实例，可直接按引用比较；id 供 Scene 的标签索引按下标定位
+public final class Tag {
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private static final ConcurrentHashMap<String, Tag> TAGS = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final int id;
+
+    private Tag(String name, int id) {
+        this.name = name;
+        this.id = id;
+    }
+
+    // 系统中建议缓存为 static final 字段，避免每次查表
+    public static Tag of(String name) {
+        String key = name != null ? name : "";
+        Tag tag = TAGS.get(key);
+        if (tag != null) return tag;
+        return TAGS.computeIfAbsent(key, k -> new Tag(k, NEXT_ID.getAndIncrement()));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "Tag(" + name + "#" + id + ")";
+    }
+}
@@ -0,0 +1,105 @@
+package com.gameengine.core;
+
+import com.gameengine.scene.Archetype;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// jdk.incubator.vector 实现：按平台首选宽度整条处理，未启用/无重力的行用掩码混合保留原值后整条写回；
+// 运算顺序与标量内核一致（不使用 FMA），结果逐位相同。尾部不足一条向量的行交给标量内核。
+final class VectorPhysicsKernel implements PhysicsKernel {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    VectorPhysicsKernel() {
+    }
+
+    @Override
+    public String getName() {
+        return "vector" + SPECIES.length();
+    }
+
+    @Override
+    public void integrate(Archetype archetype, int start, int end, float deltaTime) {
+        float[] posX = archetype.posX;
+        float[] posY = archetype.posY;
+        float[] velX = archetype.velX;
+        float[] velY = archetype.velY;
+        float[] accX = archetype.accX;
+        float[] accY = archetype.accY;
+        float[] gravX = archetype.gravX;
+        float[] gravY = archetype.gravY;
+        float[] friction = archetype.friction;
+        boolean[] enabled = archetype.physicsEnabled;
+        boolean[] useGravity = archetype.useGravity;
+        FloatVector zero = FloatVector.zero(SPECIES);
+
+        int i = start;
+        int upper = start + SPECIES.loopBound(end - start);
+        for (; i < upper; i += SPECIES.length()) {
+            VectorMask<Float> active = VectorMask.fromArray(SPECIES, enabled, i);
+            if (!active.anyTrue()) continue;
+            VectorMask<Float> gravity = VectorMask.fromArray(SPECIES, useGravity, i);
+
+            FloatVector ax = FloatVector.fromArray(SPECIES, accX, i);
+            FloatVector ay = FloatVector.fromArray(SPECIES, accY, i);
+            ax = ax.add(FloatVector.fromArray(SPECIES, gravX, i), gravity);
+            ay = ay.add(FloatVector.fromArray(SPECIES, gravY, i), gravity);
+
+            FloatVector fr = FloatVector.fromArray(SPECIES, friction, i);
+            FloatVector oldVx = FloatVector.fromArray(SPECIES, velX, i);
+            FloatVector oldVy = FloatVector.fromArray(SPECIES, velY, i);
+            FloatVector vx = oldVx.add(ax.mul(deltaTime)).mul(fr);
+            FloatVector vy = oldVy.add(ay.mul(deltaTime)).mul(fr);
+            oldVx.blend(vx, active).intoArray(velX, i);
+            oldVy.blend(vy, active).intoArray(velY, i);
+
+            FloatVector px = FloatVector.fromArray(SPECIES, posX, i);
+            FloatVector py = FloatVector.fromArray(SPECIES, posY, i);
+            px.blend(px.add(vx.mul(deltaTime)), active).intoArray(posX, i);
+            py.blend(py.add(vy.mul(deltaTime)), active).intoArray(posY, i);
+
+            FloatVector.fromArray(SPECIES, accX, i).blend(zero, active).intoArray(accX, i);
+            FloatVector.fromArray(SPECIES, accY, i).blend(zero, active).intoArray(accY, i);
+        }
+        ScalarPhysicsKernel.INSTANCE.integrate(archetype, i, end, deltaTime);
+    }
+
+    @Override
+    public void bounce(Archetype archetype, int start, int end, float maxX, float maxY) {
+        float[] posX = archetype.posX;
+        float[] posY = archetype.posY;
+        float[] velX = archetype.velX;
+        float[] velY = archetype.velY;
+        boolean[] enabled = archetype.physicsEnabled;
+        FloatVector zero = FloatVector.zero(SPECIES);
+        FloatVector limitX = FloatVector.broadcast(SPECIES, maxX);
+        FloatVector limitY = FloatVector.broadcast(SPECIES, maxY);
+
+        int i = start;
+        int upper = start + SPECIES.loopBound(end - start);
+        for (; i < upper; i += SPECIES.length()) {
+            VectorMask<Float> active = VectorMask.fromArray(SPECIES, enabled, i);
+            if (!active.anyTrue()) continue;
+            bounceAxis(posX, velX, i, active, zero, limitX);
+            bounceAxis(posY, velY, i, active, zero, limitY);
+        }
+        ScalarPhysicsKernel.INSTANCE.bounce(archetype, i, end, maxX, maxY);
+    }
+
+    // 撞边反向速度，再用比较 + 混合夹紧位置（与标量的 if 夹紧等价，保留 -0.0 等边界值）
+    private static void bounceAxis(float[] pos, float[] vel, int i, VectorMask<Float> active,
+                                   FloatVector zero, FloatVector limit) {
+        FloatVector p = FloatVector.fromArray(SPECIES, pos, i);
+        VectorMask<Float> below = p.compare(VectorOperators.LT, zero);
+        VectorMask<Float> above = p.compare(VectorOperators.GT, limit);
+        VectorMask<Float> hit = p.compare(VectorOperators.LE, zero)
+            .or(p.compare(VectorOperators.GE, limit))
+            .and(active);
+        if (hit.anyTrue()) {
+            FloatVector v = FloatVector.fromArray(SPECIES, vel, i);
+            v.blend(v.neg(), hit).intoArray(vel, i);
+            p.blend(zero, below.and(active)).blend(limit, above.and(active)).intoArray(pos, i);
+        }
+    }
+}
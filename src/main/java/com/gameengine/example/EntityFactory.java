@@ -11,20 +11,21 @@ public final class EntityFactory {
 
     public static GameObject createPlayerVisual(IRenderer renderer) {
         return new GameObject("Player") {
-            private Vector2 basePosition;
+            private TransformComponent tc;
             @Override
             public void update(float dt) {
                 super.update(dt);
-                TransformComponent tc = getComponent(TransformComponent.class);
-                if (tc != null) basePosition = tc.getPosition();
+                if (tc == null) tc = getComponent(TransformComponent.class);
             }
             @Override
             public void render() {
-                if (basePosition == null) return;
-                renderer.drawRect(basePosition.x - 8, basePosition.y - 10, 16, 20, 1.0f, 0.0f, 0.0f, 1.0f);
-                renderer.drawRect(basePosition.x - 6, basePosition.y - 22, 12, 12, 1.0f, 0.5f, 0.0f, 1.0f);
-                renderer.drawRect(basePosition.x - 13, basePosition.y - 5, 6, 12, 1.0f, 0.8f, 0.0f, 1.0f);
-                renderer.drawRect(basePosition.x + 7, basePosition.y - 5, 6, 12, 0.0f, 1.0f, 0.0f, 1.0f);
+                if (tc == null) return;
+                float baseX = tc.getRenderX();
+                float baseY = tc.getRenderY();
+                renderer.drawRect(baseX - 8, baseY - 10, 16, 20, 1.0f, 0.0f, 0.0f, 1.0f);
+                renderer.drawRect(baseX - 6, baseY - 22, 12, 12, 1.0f, 0.5f, 0.0f, 1.0f);
+                renderer.drawRect(baseX - 13, baseY - 5, 6, 12, 1.0f, 0.8f, 0.0f, 1.0f);
+                renderer.drawRect(baseX + 7, baseY - 5, 6, 12, 0.0f, 1.0f, 0.0f, 1.0f);
             }
         };
     }
@@ -3,6 +3,8 @@ package com.gameengine.example;
 import com.gameengine.core.GameEngine;
 import com.gameengine.graphics.RenderBackend;
 
+import java.util.Locale;
+
 public class Game {
     public static void main(String[] args) {
         System.out.println("启动游戏引擎...");
@@ -11,6 +13,28 @@ public class Game {
         try {
             System.out.println("使用渲染后端: GPU");
             engine = new GameEngine(1024, 768, "游戏引擎", RenderBackend.GPU);
+            // 固定 60Hz 仿真，渲染按插值平滑
+            engine.setFixedTimestep(true);
+            engine.setTickRate(60.0f);
+            // -Dengine.seed=N 开启确定性模式：相同种子与输入得到逐位相同的仿真，录制只保存输入
+            String seed = System.getProperty("engine.seed");
+            if (seed != null && !seed.isEmpty()) {
+                engine.setSeed(Long.parseLong(seed));
+                engine.setDeterministic(true);
+            }
+            // -Dengine.world=8192x8192 使用比窗口大的世界：按区块划分，只有玩家附近的区块全速仿真
+            String world = System.getProperty("engine.world");
+            if (world != null && !world.isEmpty()) {
+                String[] size = world.toLowerCase(Locale.ROOT).split("x");
+                engine.setWorldSize(Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim()));
+            }
+            // 仿真与渲染分线程流水线执行（须在创建场景前开启）
+            engine.setPipelined(true);
+            // -Dengine.profile=profile.jsonl 时每秒导出一次各阶段耗时分位数
+            String profilePath = System.getProperty("engine.profile");
+            if (profilePath != null && !profilePath.isEmpty()) {
+                engine.getProfiler().startExport(profilePath, 1.0f);
+            }
 
             MenuScene menuScene = new MenuScene(engine, "MainMenu");
             engine.setScene(menuScene);
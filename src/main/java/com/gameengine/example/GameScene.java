@@ -1,27 +1,49 @@
 package com.gameengine.example;
 
+import com.gameengine.components.ColliderComponent;
 import com.gameengine.components.PhysicsComponent;
 import com.gameengine.components.RenderComponent;
 import com.gameengine.components.TransformComponent;
 import com.gameengine.core.GameEngine;
 import com.gameengine.core.GameLogic;
 import com.gameengine.core.GameObject;
+import com.gameengine.core.ObjectPool;
+import com.gameengine.core.ParticleManager;
 import com.gameengine.core.ParticleSystem;
 import com.gameengine.graphics.IRenderer;
 import com.gameengine.math.Vector2;
+import com.gameengine.scene.ChunkGrid;
 import com.gameengine.scene.Scene;
+import com.gameengine.scene.TagGroup;
 
 import java.util.*;
 
 public class GameScene extends Scene {
+    // 大世界的区块边长（像素）
+    private static final float CHUNK_SIZE = 512f;
+    // 场景内所有发射器共享的粒子预算
+    private static final int PARTICLE_BUDGET = 16384;
+
     private final GameEngine engine;
     private IRenderer renderer;
-    private Random random;
+    // 刷怪/装饰与粒子各用一条由引擎派生的随机流（确定性模式下由种子决定）
+    private SplittableRandom random;
+    private SplittableRandom particleRandom;
     private float time;
+    // 世界尺寸；大于窗口时启用区块划分，相机跟随玩家
+    private float worldWidth;
+    private float worldHeight;
+    private GameObject player;
     private GameLogic gameLogic;
-    private ParticleSystem playerParticles;
-    private List<ParticleSystem> collisionParticles;
-    private Map<GameObject, ParticleSystem> aiPlayerParticles;
+    // 玩家尾迹、AI 尾迹与爆炸共用一个粒子池；一次性发射器 release 后由管理器自动回收
+    private ParticleManager particles;
+    private ParticleManager.Emitter playerParticles;
+    private Map<GameObject, ParticleManager.Emitter> aiPlayerParticles;
+    // AI 对象走对象池，持续刷怪时不再产生垃圾
+    private ObjectPool<GameObject> aiPlayerPool;
+    private final List<GameObject> staleEmitterOwners = new ArrayList<>();
+    private final Vector2 emitterPosition = new Vector2();
+    private boolean wasGameOver;
     private boolean waitingReturn;
     private float waitInputTimer;
     private float freezeTimer;
@@ -37,23 +59,37 @@ public class GameScene extends Scene {
     public void initialize() {
         super.initialize();
         this.renderer = engine.getRenderer();
-        this.random = new Random();
+        this.random = engine.createRandom("scene");
+        this.particleRandom = engine.createRandom("particles");
         this.time = 0;
+        this.worldWidth = engine.getWorldWidth();
+        this.worldHeight = engine.getWorldHeight();
+        if (worldWidth > renderer.getWidth() || worldHeight > renderer.getHeight()) {
+            setChunkGrid(new ChunkGrid(worldWidth, worldHeight, CHUNK_SIZE));
+        }
         this.gameLogic = new GameLogic(this);
         this.gameLogic.setGameEngine(engine);
+        this.gameLogic.attachCollisionSystem(engine.getCollisionSystem());
+        this.wasGameOver = false;
         this.waitingReturn = false;
         this.waitInputTimer = 0f;
         this.freezeTimer = 0f;
+        this.aiPlayerPool = new ObjectPool<>(this::newAIPlayer, this::resetAIPlayer, 256);
+        this.particles = new ParticleManager(renderer, PARTICLE_BUDGET, engine.getJobScheduler());
+        this.particles.setGovernor(engine.getParticleGovernor());
 
         createPlayer();
         createAIPlayers();
         createDecorations();
+        if (getChunkGrid() != null) {
+            getChunkGrid().addInterest(player);
+        }
 
-        collisionParticles = new ArrayList<>();
-        aiPlayerParticles = new HashMap<>();
+        // 按插入顺序遍历，发射器释放的顺序在两次运行间保持一致
+        aiPlayerParticles = new LinkedHashMap<>();
 
-        playerParticles = new ParticleSystem(renderer, new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f));
-        playerParticles.setActive(true);
+        playerParticles = particles.createEmitter(new Vector2(worldWidth / 2.0f, worldHeight / 2.0f),
+            ParticleSystem.Config.defaultPlayer(), particleRandom.split());
         
     }
 
@@ -66,10 +102,9 @@ public class GameScene extends Scene {
         gameLogic.handleAIPlayerMovement(deltaTime);
         gameLogic.handleAIPlayerAvoidance(deltaTime);
 
-        boolean wasGameOver = gameLogic.isGameOver();
-        gameLogic.checkCollisions();
-
+        // 碰撞在物理之后由 CollisionSystem 检测，这里只响应状态变化
         if (gameLogic.isGameOver() && !wasGameOver) {
+            wasGameOver = true;
             GameObject player = gameLogic.getUserPlayer();
             if (player != null) {
                 TransformComponent transform = player.getComponent(TransformComponent.class);
@@ -89,9 +124,9 @@ public class GameScene extends Scene {
                     cfg.burstGMin = 0.0f;
                     cfg.burstGMax = 0.05f;
                     cfg.burstB = 0.0f;
-                    ParticleSystem explosion = new ParticleSystem(renderer, transform.getPosition(), cfg);
+                    ParticleManager.Emitter explosion = particles.createEmitter(transform.getPosition(), cfg, particleRandom.split());
                     explosion.burst(180);
-                    collisionParticles.add(explosion);
+                    explosion.release();
                     waitingReturn = true;
                     waitInputTimer = 0f;
                     freezeTimer = 0f;
@@ -119,68 +154,60 @@ public class GameScene extends Scene {
     }
 
     private void updateParticles(float deltaTime) {
-        boolean freeze = waitingReturn && freezeTimer >= freezeDelay;
-
-        if (playerParticles != null && !freeze) {
-            GameObject player = gameLogic.getUserPlayer();
-            if (player != null) {
-                TransformComponent transform = player.getComponent(TransformComponent.class);
-                if (transform != null) {
-                    Vector2 playerPos = transform.getPosition();
-                    playerParticles.setPosition(playerPos);
-                }
+        // 结束画面定格后粒子也一起定格
+        if (waitingReturn && freezeTimer >= freezeDelay) return;
+
+        GameObject player = gameLogic.getUserPlayer();
+        if (player != null) {
+            TransformComponent transform = player.getComponent(TransformComponent.class);
+            if (transform != null) {
+                playerParticles.setPosition(transform.getPosition());
             }
-            playerParticles.update(deltaTime);
         }
 
-        List<GameObject> aiPlayers = gameLogic.getAIPlayers();
-        if (!freeze) {
-            for (GameObject aiPlayer : aiPlayers) {
-                if (aiPlayer != null && aiPlayer.isActive()) {
-                    ParticleSystem particles = aiPlayerParticles.get(aiPlayer);
-                    if (particles == null) {
-                        TransformComponent transform = aiPlayer.getComponent(TransformComponent.class);
-                        if (transform != null) {
-                            particles = new ParticleSystem(renderer, transform.getPosition(), ParticleSystem.Config.light());
-                            particles.setActive(true);
-                            aiPlayerParticles.put(aiPlayer, particles);
-                        }
-                    }
-                    if (particles != null) {
-                        TransformComponent transform = aiPlayer.getComponent(TransformComponent.class);
-                        if (transform != null) {
-                            particles.setPosition(transform.getPosition());
-                        }
-                        particles.update(deltaTime);
-                    }
-                }
+        // 只遍历非冻结区块中的活跃 AI（与 AI 逻辑相同的收集），冻结区块里的 AI 不发射尾迹
+        TagGroup aiPlayers = gameLogic.getAIPlayerGroup();
+        ChunkGrid chunks = getChunkGrid();
+        gameLogic.gatherLiveAIPlayers();
+        for (int i = 0; i < gameLogic.getLiveAIPlayerCount(); i++) {
+            GameObject aiPlayer = gameLogic.getLiveAIPlayer(i);
+            TransformComponent transform = aiPlayer.getComponent(TransformComponent.class);
+            if (transform == null) continue;
+            ParticleManager.Emitter emitter = aiPlayerParticles.get(aiPlayer);
+            if (emitter == null) {
+                emitterPosition.x = transform.getX();
+                emitterPosition.y = transform.getY();
+                emitter = particles.createEmitter(emitterPosition, ParticleSystem.Config.light(), particleRandom.split());
+                aiPlayerParticles.put(aiPlayer, emitter);
+            } else {
+                emitter.setPosition(transform.getX(), transform.getY());
             }
         }
 
-        List<GameObject> toRemove = new ArrayList<>();
-        for (Map.Entry<GameObject, ParticleSystem> entry : aiPlayerParticles.entrySet()) {
-            if (!entry.getKey().isActive() || !aiPlayers.contains(entry.getKey())) {
-                toRemove.add(entry.getKey());
+        // 对象失活、离场或进入冻结区块时释放发射器，剩余尾迹自然消散
+        for (Map.Entry<GameObject, ParticleManager.Emitter> entry : aiPlayerParticles.entrySet()) {
+            GameObject owner = entry.getKey();
+            if (!owner.isActive() || owner.getScene() != this || owner.getTag() != aiPlayers.getTag()
+                    || (chunks != null && owner.getChunk() >= 0 && chunks.getLevel(owner.getChunk()) == ChunkGrid.FROZEN)) {
+                staleEmitterOwners.add(owner);
             }
         }
-        for (GameObject removed : toRemove) {
-            aiPlayerParticles.remove(removed);
+        for (int i = 0; i < staleEmitterOwners.size(); i++) {
+            aiPlayerParticles.remove(staleEmitterOwners.get(i)).release();
         }
+        staleEmitterOwners.clear();
 
-        for (int i = collisionParticles.size() - 1; i >= 0; i--) {
-            ParticleSystem ps = collisionParticles.get(i);
-            if (ps != null) {
-                if (!freeze) {
-                    ps.update(deltaTime);
-                }
-            }
-        }
+        particles.update(deltaTime);
     }
 
     @Override
     public void render() {
         renderer.drawRect(0, 0, renderer.getWidth(), renderer.getHeight(), 0.1f, 0.1f, 0.2f, 1.0f);
 
+        if (getChunkGrid() != null) {
+            updateCamera();
+        }
+
         super.render();
 
         renderParticles();
@@ -195,30 +222,27 @@ public class GameScene extends Scene {
         }
     }
 
-    private void renderParticles() {
-        if (playerParticles != null) {
-            int count = playerParticles.getParticleCount();
-            if (count > 0) {
-                playerParticles.render();
-            }
-        }
-
-        for (ParticleSystem ps : aiPlayerParticles.values()) {
-            if (ps != null && ps.getParticleCount() > 0) {
-                ps.render();
-            }
+    // 相机以玩家（插值后的位置）为中心，限制在世界范围内
+    private void updateCamera() {
+        float viewW = renderer.getWidth();
+        float viewH = renderer.getHeight();
+        float camX = getCameraX();
+        float camY = getCameraY();
+        TransformComponent transform = player != null ? player.getComponent(TransformComponent.class) : null;
+        if (transform != null) {
+            camX = Math.max(0f, Math.min(transform.getInterpolatedX() - viewW / 2.0f, worldWidth - viewW));
+            camY = Math.max(0f, Math.min(transform.getInterpolatedY() - viewH / 2.0f, worldHeight - viewH));
         }
+        setCamera(camX, camY, viewW, viewH);
+    }
 
-        for (ParticleSystem ps : collisionParticles) {
-            if (ps != null && ps.getParticleCount() > 0) {
-                ps.render();
-            }
-        }
+    private void renderParticles() {
+        particles.render(getCameraX(), getCameraY());
     }
 
     private void createPlayer() {
-        GameObject player = new GameObject("Player") {
-            private Vector2 basePosition;
+        player = new GameObject("Player") {
+            private TransformComponent bodyTransform;
 
             @Override
             public void update(float deltaTime) {
@@ -233,74 +257,88 @@ public class GameScene extends Scene {
             }
 
             private void updateBodyParts() {
-                TransformComponent transform = getComponent(TransformComponent.class);
-                if (transform != null) {
-                    basePosition = transform.getPosition();
+                if (bodyTransform == null) {
+                    bodyTransform = getComponent(TransformComponent.class);
                 }
             }
 
             private void renderBodyParts() {
-                if (basePosition == null) return;
+                if (bodyTransform == null) return;
+                float baseX = bodyTransform.getRenderX();
+                float baseY = bodyTransform.getRenderY();
 
                 renderer.drawRect(
-                    basePosition.x - 8, basePosition.y - 10, 16, 20,
+                    baseX - 8, baseY - 10, 16, 20,
                     1.0f, 0.0f, 0.0f, 1.0f
                 );
 
                 renderer.drawRect(
-                    basePosition.x - 6, basePosition.y - 22, 12, 12,
+                    baseX - 6, baseY - 22, 12, 12,
                     1.0f, 0.5f, 0.0f, 1.0f
                 );
 
                 renderer.drawRect(
-                    basePosition.x - 13, basePosition.y - 5, 6, 12,
+                    baseX - 13, baseY - 5, 6, 12,
                     1.0f, 0.8f, 0.0f, 1.0f
                 );
 
                 renderer.drawRect(
-                    basePosition.x + 7, basePosition.y - 5, 6, 12,
+                    baseX + 7, baseY - 5, 6, 12,
                     0.0f, 1.0f, 0.0f, 1.0f
                 );
             }
         };
 
-        player.addComponent(new TransformComponent(new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f)));
+        player.addComponent(new TransformComponent(new Vector2(worldWidth / 2.0f, worldHeight / 2.0f)));
 
         PhysicsComponent physics = player.addComponent(new PhysicsComponent(1.0f));
         physics.setFriction(0.95f);
 
+        // 两个半径 15 的圆：与原先 30px 的距离判定等价
+        player.addComponent(ColliderComponent.circle(15f));
+
         addGameObject(player);
     }
 
+    // 初始数量按世界面积与窗口面积之比放大，保持与单屏相同的密度
     private void createAIPlayers() {
-        for (int i = 0; i < 30; i++) {
+        int count = (int) (30 * worldAreaRatio());
+        for (int i = 0; i < count; i++) {
             createAIPlayer();
         }
     }
 
-    private void createAIPlayer() {
-        GameObject aiPlayer = new GameObject("AIPlayer") {
-            @Override
-            public void update(float deltaTime) {
-                super.update(deltaTime);
-                updateComponents(deltaTime);
-            }
+    private float worldAreaRatio() {
+        return Math.max(1f, worldWidth * worldHeight / ((float) renderer.getWidth() * renderer.getHeight()));
+    }
 
-            @Override
-            public void render() {
-                renderComponents();
-            }
-        };
+    private void createAIPlayer() {
+        GameObject aiPlayer = aiPlayerPool.acquire();
 
-        Vector2 position;
+        float cx = worldWidth / 2.0f;
+        float cy = worldHeight / 2.0f;
+        float x;
+        float y;
         do {
-            position = new Vector2(
-                random.nextFloat() * renderer.getWidth(),
-                random.nextFloat() * renderer.getHeight()
-            );
-        } while (position.distance(new Vector2(renderer.getWidth() / 2.0f, renderer.getHeight() / 2.0f)) < 100);
+            x = random.nextFloat() * worldWidth;
+            y = random.nextFloat() * worldHeight;
+        } while ((x - cx) * (x - cx) + (y - cy) * (y - cy) < 100 * 100);
 
-        aiPlayer.addComponent(new TransformComponent(position));
+        aiPlayer.getComponent(TransformComponent.class).setPosition(x, y);
+        aiPlayer.getComponent(PhysicsComponent.class).setVelocity(
+            (random.nextFloat() - 0.5f) * 150,
+            (random.nextFloat() - 0.5f) * 150
+        );
+
+        addGameObject(aiPlayer);
+    }
+
+    // 对象池工厂：外观与物理参数在创建时配置一次，复用时只重置位置与速度
+    private GameObject newAIPlayer() {
+        GameObject aiPlayer = new GameObject("AIPlayer");
+        aiPlayer.setPool(aiPlayerPool);
+
+        aiPlayer.addComponent(new TransformComponent());
         // 使用工厂统一外观
         RenderComponent rc = aiPlayer.addComponent(new RenderComponent(
             RenderComponent.RenderType.RECTANGLE,
@@ -310,17 +348,21 @@ public class GameScene extends Scene {
         rc.setRenderer(renderer);
 
         PhysicsComponent physics = aiPlayer.addComponent(new PhysicsComponent(0.5f));
-        physics.setVelocity(new Vector2(
-            (random.nextFloat() - 0.5f) * 150,
-            (random.nextFloat() - 0.5f) * 150
-        ));
         physics.setFriction(0.98f);
 
-        addGameObject(aiPlayer);
+        aiPlayer.addComponent(ColliderComponent.circle(15f));
+        return aiPlayer;
+    }
+
+    // 对象池重置回调：AI 状态随对象一起清掉，下次取出时与新建的 AI 无异
+    private void resetAIPlayer(GameObject aiPlayer) {
+        gameLogic.releaseAIState(aiPlayer);
+        aiPlayer.reset();
     }
 
     private void createDecorations() {
-        for (int i = 0; i < 5; i++) {
+        int count = (int) (5 * worldAreaRatio());
+        for (int i = 0; i < count; i++) {
             createDecoration();
         }
     }
@@ -340,8 +382,8 @@ public class GameScene extends Scene {
         };
 
         Vector2 position = new Vector2(
-            random.nextFloat() * renderer.getWidth(),
-            random.nextFloat() * renderer.getHeight()
+            random.nextFloat() * worldWidth,
+            random.nextFloat() * worldHeight
         );
 
         decoration.addComponent(new TransformComponent(position));
@@ -361,14 +403,11 @@ public class GameScene extends Scene {
         if (gameLogic != null) {
             gameLogic.cleanup();
         }
-        if (playerParticles != null) {
-            playerParticles.clear();
+        if (particles != null) {
+            particles.clear();
         }
-        if (collisionParticles != null) {
-            for (ParticleSystem ps : collisionParticles) {
-                if (ps != null) ps.clear();
-            }
-            collisionParticles.clear();
+        if (aiPlayerParticles != null) {
+            aiPlayerParticles.clear();
         }
         super.clear();
     }
@@ -0,0 +1,107 @@
+package com.gameengine.example;
+
+import com.gameengine.core.FrameProfiler;
+import com.gameengine.core.GameEngine;
+import com.gameengine.core.ParticleBudgetGovernor;
+import com.gameengine.graphics.HeadlessRenderer;
+import com.gameengine.graphics.RenderBackend;
+import com.gameengine.recording.FileRecordingStorage;
+import com.gameengine.recording.InputPlayback;
+import com.gameengine.recording.RecordingConfig;
+import com.gameengine.recording.RecordingService;
+
+import java.util.Locale;
+
+// 无窗口运行游戏场景：不限帧、固定步长，按 tick 数退出并打印仿真吞吐
+// 用法: HeadlessRunner [ticks] [recording.jsonl]
+// -Dengine.seed=N 以确定性模式运行（录制只保存输入），结束时打印状态哈希；
+// -Dengine.replay=inputs.jsonl 回放仅输入录制并校验结束状态（tick 数取自录制）
+public class HeadlessRunner {
+    public static void main(String[] args) {
+        long ticks = 3600;
+        String recordPath = null;
+        if (args != null && args.length > 0) {
+            try {
+                ticks = Long.parseLong(args[0]);
+            } catch (NumberFormatException e) {
+                System.err.println("无效的 tick 数: " + args[0]);
+                return;
+            }
+        }
+        if (args != null && args.length > 1) {
+            recordPath = args[1];
+        }
+
+        InputPlayback playback = null;
+        String replayPath = System.getProperty("engine.replay");
+        if (replayPath != null && !replayPath.isEmpty()) {
+            playback = InputPlayback.load(replayPath, new FileRecordingStorage());
+            if (playback == null) {
+                System.err.println("不是仅输入录制: " + replayPath);
+                return;
+            }
+            // 多跑一个 tick，回放在该 tick 开始时校验录制结束时的状态
+            ticks = playback.getEndTick() + 1;
+        }
+
+        GameEngine engine = new GameEngine(1024, 768, "Headless", RenderBackend.HEADLESS);
+        engine.setFixedTimestep(true);
+        engine.setTickRate(60.0f);
+        engine.setUncapped(true);
+        engine.setMaxTicks(ticks);
+        String seed = System.getProperty("engine.seed");
+        if (seed != null && !seed.isEmpty()) {
+            engine.setSeed(Long.parseLong(seed));
+            engine.setDeterministic(true);
+        }
+        // -Dengine.world=8192x8192 使用比窗口大的世界：按区块划分，只有玩家附近的区块全速仿真
+        String world = System.getProperty("engine.world");
+        if (world != null && !world.isEmpty()) {
+            String[] size = world.toLowerCase(Locale.ROOT).split("x");
+            engine.setWorldSize(Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim()));
+        }
+        if (playback != null) {
+            engine.startInputPlayback(playback);
+        }
+
+        // 引擎停止时会清空场景，在清空前记下最终状态哈希
+        final String[] finalHash = new String[1];
+        GameScene scene = new GameScene(engine) {
+            @Override
+            public void clear() {
+                finalHash[0] = RecordingService.stateHash(this);
+                super.clear();
+            }
+        };
+        engine.setScene(scene);
+        if (recordPath != null) {
+            RecordingConfig config = new RecordingConfig(recordPath);
+            config.inputOnly = engine.isDeterministic();
+            engine.enableRecording(new RecordingService(config));
+        }
+
+        long start = System.nanoTime();
+        engine.run();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        HeadlessRenderer renderer = (HeadlessRenderer) engine.getRenderer();
+        FrameProfiler profiler = engine.getProfiler();
+        System.out.println(String.format(Locale.ROOT, "ticks=%d time=%.2fs ticks/s=%.1f frames=%d drawCalls=%d",
+            engine.getTickCount(), seconds, engine.getTickCount() / Math.max(1e-9, seconds),
+            renderer.getFrameCount(), renderer.getTotalDrawCalls()));
+        if (engine.isDeterministic()) {
+            System.out.println("seed=" + engine.getSeed() + " stateHash=" + finalHash[0]);
+        }
+        ParticleBudgetGovernor governor = engine.getParticleGovernor();
+        System.out.println(String.format(Locale.ROOT,
+            "particles: scale=%.2f avgFrame=%.3fms shedSpawns=%d shedBurst=%d culled=%d",
+            governor.getScale(), governor.getSmoothedFrameMillis(), governor.getShedSpawns(),
+            governor.getShedBurstParticles(), governor.getCulledParticles()));
+        for (FrameProfiler.Phase phase : FrameProfiler.Phase.values()) {
+            System.out.println(String.format(Locale.ROOT, "  %-16s p50=%.3fms p95=%.3fms p99=%.3fms", phase.getKey(),
+                profiler.getPercentileMillis(phase, 0),
+                profiler.getPercentileMillis(phase, 1),
+                profiler.getPercentileMillis(phase, 2)));
+        }
+    }
+}
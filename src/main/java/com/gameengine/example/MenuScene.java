@@ -137,6 +137,8 @@ public class MenuScene extends Scene {
             new File("recordings").mkdirs();
             String path = "recordings/session_" + System.currentTimeMillis() + ".jsonl";
             RecordingConfig cfg = new RecordingConfig(path);
+            // 确定性模式下只录输入，回放时用同一种子重新仿真
+            cfg.inputOnly = engine.isDeterministic();
             RecordingService svc = new RecordingService(cfg);
             engine.enableRecording(svc);
         } catch (Exception e) {
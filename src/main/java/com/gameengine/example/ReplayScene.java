@@ -34,6 +34,8 @@ public class ReplayScene extends Scene {
     }
 
     private final List<Keyframe> keyframes = new ArrayList<>();
+    // 选中的是仅输入录制时，下一次 update 切换到游戏场景重新仿真
+    private com.gameengine.recording.InputPlayback pendingPlayback;
     private final java.util.List<GameObject> objectList = new ArrayList<>();
 
     // 如果 path 为 null，则先展示 recordings 目录下的文件列表，供用户选择
@@ -53,6 +55,8 @@ public class ReplayScene extends Scene {
         this.keyframes.clear();
         this.objectList.clear();
         if (recordingPath != null) {
+            pendingPlayback = com.gameengine.recording.InputPlayback.load(recordingPath, new com.gameengine.recording.FileRecordingStorage());
+            if (pendingPlayback != null) return;
             loadRecording(recordingPath);
             buildObjectsFromFirstKeyframe();
             
@@ -70,6 +74,12 @@ public class ReplayScene extends Scene {
             engine.setScene(new MenuScene(engine, "MainMenu"));
             return;
         }
+        if (pendingPlayback != null) {
+            engine.startInputPlayback(pendingPlayback);
+            pendingPlayback = null;
+            engine.setScene(new GameScene(engine));
+            return;
+        }
         // 文件选择模式
         if (recordingPath == null) {
             handleFileSelection();
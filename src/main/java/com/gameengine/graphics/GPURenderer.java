@@ -6,16 +6,15 @@ import org.lwjgl.glfw.GLFWErrorCallback;
 import org.lwjgl.opengl.GL;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL12;
+import org.lwjgl.opengl.GL15;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.system.MemoryUtil;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import org.lwjgl.BufferUtils;
-import java.util.HashMap;
-import java.util.Map;
 
 public class GPURenderer implements IRenderer {
     private int width;
@@ -24,10 +23,28 @@ public class GPURenderer implements IRenderer {
     private InputManager inputManager;
     private boolean initialized;
     private long window;
-    private Map<Character, Integer> charTextures;
+    // 所有字形共用的图集纹理页
+    private GlyphAtlas glyphs;
     private Font font;
     private int fontSize;
     private boolean texturesPreloaded;
+    // 形状批处理：矩形、圆、粒子展开为三角形，线段单独成批；顶点交错存放 (x, y, r, g, b, a)，
+    // 图元类型改变、绘制文字、缓冲写满或 endFrame 时经流式 VBO 一次提交
+    private static final int VERTEX_FLOATS = 6;
+    private static final int VERTEX_STRIDE = VERTEX_FLOATS * Float.BYTES;
+    private static final int BATCH_VERTICES = 16384;
+    private static final float LINE_WIDTH = 2.5f;
+    private FloatBuffer vertices;
+    private int vertexCount;
+    private int batchMode;
+    private int vbo;
+    // 调试模式（-Dengine.glDebug=true）下每次提交后检查 GL 错误；glGetError 会强制管线同步，默认关闭
+    private boolean debugGL;
+    private int drawCalls;
+    private int lastFrameDrawCalls;
+    // 等宽字形的绘制宽度（相对字号）与字间距
+    private static final float CHAR_WIDTH_RATIO = 0.6f;
+    private static final float CHAR_SPACING = 1.0f;
     private static final String PRELOAD_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*()_+-=[]{}|;:,.<>?/~` ";
 
     public GPURenderer(int width, int height, String title) {
@@ -37,10 +54,13 @@ public class GPURenderer implements IRenderer {
         this.inputManager = InputManager.getInstance();
         this.initialized = false;
         this.window = 0;
-        this.charTextures = new HashMap<>();
         this.font = new Font(Font.MONOSPACED, Font.BOLD, 32);
         this.fontSize = 32;
+        this.glyphs = new GlyphAtlas(font, fontSize);
         this.texturesPreloaded = false;
+        this.vertices = BufferUtils.createFloatBuffer(BATCH_VERTICES * VERTEX_FLOATS);
+        this.batchMode = GL11.GL_TRIANGLES;
+        this.debugGL = Boolean.getBoolean("engine.glDebug");
 
         initialize();
     }
@@ -105,6 +125,7 @@ public class GPURenderer implements IRenderer {
                 System.err.println("OpenGL上下文无效：无法获取版本/渲染器字符串");
             }
             
+            vbo = GL15.glGenBuffers();
             initialized = true;
             
             int[] maxTex = new int[1];
@@ -170,58 +191,148 @@ public class GPURenderer implements IRenderer {
         GL11.glDisable(GL11.GL_CULL_FACE);
         GL11.glDisable(GL11.GL_COLOR_MATERIAL);
         
+        vertices.clear();
+        vertexCount = 0;
+        drawCalls = 0;
     }
     
     @Override
     public void endFrame() {
         if (!initialized) return;
+        flush();
+        lastFrameDrawCalls = drawCalls;
         GLFW.glfwSwapBuffers(window);
     }
     
-    @Override
-    public void drawRect(float x, float y, float w, float h, float r, float g, float b, float a) {
-        if (!initialized) return;
-        
-        GL11.glColor4f(r, g, b, a);
-        GL11.glBegin(GL11.GL_QUADS);
-        GL11.glVertex2f(x, y);
-        GL11.glVertex2f(x + w, y);
-        GL11.glVertex2f(x + w, y + h);
-        GL11.glVertex2f(x, y + h);
-        GL11.glEnd();
+    public void setDebugGL(boolean debugGL) {
+        this.debugGL = debugGL;
+    }
+    
+    public boolean isDebugGL() {
+        return debugGL;
+    }
+    
+    // 上一帧实际提交的批次数（含文字）
+    public int getLastFrameDrawCalls() {
+        return lastFrameDrawCalls;
+    }
+    
+    // 为接下来的 count 个顶点切换到 mode 批次：图元类型不同或剩余空间不足时先提交已有顶点
+    private void reserve(int mode, int count) {
+        if (mode != batchMode || vertexCount + count > vertexCapacity()) {
+            flush();
+            batchMode = mode;
+        }
+    }
+    
+    // 批缓冲可容纳的形状顶点数；粒子批次可能把缓冲扩大到超过 BATCH_VERTICES
+    private int vertexCapacity() {
+        return vertices.capacity() / VERTEX_FLOATS;
+    }
+    
+    private void vertex(float x, float y, float r, float g, float b, float a) {
+        vertices.put(x).put(y).put(r).put(g).put(b).put(a);
+        vertexCount++;
+    }
+    
+    private void quad(float x0, float y0, float x1, float y1, float r, float g, float b, float a) {
+        vertex(x0, y0, r, g, b, a);
+        vertex(x1, y0, r, g, b, a);
+        vertex(x1, y1, r, g, b, a);
+        vertex(x0, y0, r, g, b, a);
+        vertex(x1, y1, r, g, b, a);
+        vertex(x0, y1, r, g, b, a);
+    }
+    
+    // 每次提交先以 glBufferData(null) 废弃旧存储（孤立化），驱动无需等待上一批绘制完成即可写入
+    private void flush() {
+        if (vertexCount == 0) return;
+        vertices.flip();
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vbo);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, (long) vertices.capacity() * Float.BYTES, GL15.GL_STREAM_DRAW);
+        GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, 0L, vertices);
+        GL11.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+        GL11.glEnableClientState(GL11.GL_COLOR_ARRAY);
+        GL11.glVertexPointer(2, GL11.GL_FLOAT, VERTEX_STRIDE, 0L);
+        GL11.glColorPointer(4, GL11.GL_FLOAT, VERTEX_STRIDE, 2L * Float.BYTES);
+        if (batchMode == GL11.GL_LINES) {
+            GL11.glLineWidth(LINE_WIDTH);
+        }
+        GL11.glDrawArrays(batchMode, 0, vertexCount);
+        GL11.glDisableClientState(GL11.GL_COLOR_ARRAY);
+        GL11.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
+        vertices.clear();
+        vertexCount = 0;
+        drawCalls++;
+        if (debugGL) {
+            checkError("flush");
+        }
+    }
+    
+    private void checkError(String where) {
         int err = GL11.glGetError();
         if (err != GL11.GL_NO_ERROR) {
-            System.err.println("[GPURenderer] drawRect GL error: 0x" + Integer.toHexString(err));
+            System.err.println("[GPURenderer] " + where + " GL error: 0x" + Integer.toHexString(err));
         }
     }
     
     @Override
-    public void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+    public void drawRect(float x, float y, float w, float h, float r, float g, float b, float a) {
         if (!initialized) return;
         
-        GL11.glColor4f(r, g, b, a);
-        GL11.glBegin(GL11.GL_TRIANGLE_FAN);
-        GL11.glVertex2f(x, y);
+        reserve(GL11.GL_TRIANGLES, 6);
+        quad(x, y, x + w, y + h, r, g, b, a);
+    }
+    
+    // 扇形展开为独立三角形，与其他形状合并到同一批
+    @Override
+    public void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+        if (!initialized || segments <= 0) return;
         
-        for (int i = 0; i <= segments; i++) {
+        segments = Math.min(segments, BATCH_VERTICES / 3);
+        reserve(GL11.GL_TRIANGLES, segments * 3);
+        float prevX = x + radius;
+        float prevY = y;
+        for (int i = 1; i <= segments; i++) {
             float angle = (float) (i * 2.0 * Math.PI / segments);
             float px = x + (float) (radius * Math.cos(angle));
             float py = y + (float) (radius * Math.sin(angle));
-            GL11.glVertex2f(px, py);
+            vertex(x, y, r, g, b, a);
+            vertex(prevX, prevY, r, g, b, a);
+            vertex(px, py, r, g, b, a);
+            prevX = px;
+            prevY = py;
         }
-        GL11.glEnd();
     }
     
     @Override
     public void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
         if (!initialized) return;
         
-        GL11.glLineWidth(2.5f);
-        GL11.glColor4f(r, g, b, a);
-        GL11.glBegin(GL11.GL_LINES);
-        GL11.glVertex2f(x1, y1);
-        GL11.glVertex2f(x2, y2);
-        GL11.glEnd();
+        reserve(GL11.GL_LINES, 2);
+        vertex(x1, y1, r, g, b, a);
+        vertex(x2, y2, r, g, b, a);
+    }
+    
+    // 整批粒子单独成一次提交：先提交已累积的形状，按粒子数一次预留（不够时扩大缓冲），
+    // 展开为四边形后立即提交，不与前后的形状混批
+    @Override
+    public void drawParticles(ParticleBatch batch) {
+        if (!initialized || batch.count == 0) return;
+        
+        flush();
+        batchMode = GL11.GL_TRIANGLES;
+        int needed = batch.count * 6;
+        if (needed > vertexCapacity()) {
+            vertices = BufferUtils.createFloatBuffer(Math.max(needed, vertexCapacity() * 2) * VERTEX_FLOATS);
+        }
+        for (int i = 0; i < batch.count; i++) {
+            float half = batch.size[i] * 0.5f;
+            quad(batch.x[i] - half, batch.y[i] - half, batch.x[i] + half, batch.y[i] + half,
+                 batch.r[i], batch.g[i], batch.b[i], batch.a[i]);
+        }
+        flush();
     }
     
     @Override
@@ -232,14 +343,14 @@ public class GPURenderer implements IRenderer {
             preloadTextures();
         }
         
-        GL11.glEnable(GL11.GL_TEXTURE_2D);
-        GL11.glEnable(GL11.GL_BLEND);
-        GL11.glBlendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
+        // 先提交之前累积的形状以保持绘制顺序，随后借用同一块顶点缓冲
+        flush();
         
         float currentX = x;
         float charHeight = fontSize;
-        float charWidth = fontSize * 0.6f;
-        float spacing = 1.0f;
+        float charWidth = fontSize * CHAR_WIDTH_RATIO;
+        float spacing = CHAR_SPACING;
+        int page = -1;
         
         for (int i = 0; i < text.length(); i++) {
             char c = text.charAt(i);
@@ -248,30 +359,79 @@ public class GPURenderer implements IRenderer {
                 continue;
             }
             
-            int textureId = getCharTexture(c);
-            if (textureId > 0) {
-                GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
-                GL11.glTexEnvi(GL11.GL_TEXTURE_ENV, GL11.GL_TEXTURE_ENV_MODE, GL11.GL_MODULATE);
-                GL11.glColor4f(r, g, b, a);
-                GL11.glBegin(GL11.GL_QUADS);
-                GL11.glTexCoord2f(0.0f, 0.0f);
-                GL11.glVertex2f(currentX, y);
-                GL11.glTexCoord2f(1.0f, 0.0f);
-                GL11.glVertex2f(currentX + charWidth, y);
-                GL11.glTexCoord2f(1.0f, 1.0f);
-                GL11.glVertex2f(currentX + charWidth, y + charHeight);
-                GL11.glTexCoord2f(0.0f, 1.0f);
-                GL11.glVertex2f(currentX, y + charHeight);
-                GL11.glEnd();
+            GlyphAtlas.Glyph glyph = glyphs.get(c);
+            if (glyph != null) {
+                if (glyph.page != page || vertexCount + 6 > vertexCapacity()) {
+                    flushText(page, r, g, b, a);
+                    page = glyph.page;
+                }
+                float x1 = currentX + charWidth;
+                float y1 = y + charHeight;
+                textVertex(currentX, y, glyph.u0, glyph.v0);
+                textVertex(x1, y, glyph.u1, glyph.v0);
+                textVertex(x1, y1, glyph.u1, glyph.v1);
+                textVertex(currentX, y, glyph.u0, glyph.v0);
+                textVertex(x1, y1, glyph.u1, glyph.v1);
+                textVertex(currentX, y1, glyph.u0, glyph.v1);
             }
             
             currentX += charWidth + spacing;
         }
-        
+        flushText(page, r, g, b, a);
+    }
+    
+    // 与 drawText 的步进一致：空格半个字宽，其余字符一个字宽加间距
+    @Override
+    public float getTextWidth(String text) {
+        if (text == null) return 0f;
+        float charWidth = fontSize * CHAR_WIDTH_RATIO;
+        float width = 0f;
+        for (int i = 0; i < text.length(); i++) {
+            width += text.charAt(i) == ' ' ? charWidth * 0.5f : charWidth + CHAR_SPACING;
+        }
+        return width;
+    }
+    
+    @Override
+    public float getLineHeight() {
+        return fontSize;
+    }
+    
+    private void textVertex(float x, float y, float u, float v) {
+        vertices.put(x).put(y).put(u).put(v);
+        vertexCount++;
+    }
+    
+    private void flushText(int page, float r, float g, float b, float a) {
+        if (vertexCount == 0) return;
+        int stride = 4 * Float.BYTES;
+        vertices.flip();
+        GL11.glEnable(GL11.GL_TEXTURE_2D);
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, glyphs.getPageTexture(page));
+        GL11.glTexEnvi(GL11.GL_TEXTURE_ENV, GL11.GL_TEXTURE_ENV_MODE, GL11.GL_MODULATE);
+        GL11.glColor4f(r, g, b, a);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vbo);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, (long) vertices.capacity() * Float.BYTES, GL15.GL_STREAM_DRAW);
+        GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, 0L, vertices);
+        GL11.glEnableClientState(GL11.GL_VERTEX_ARRAY);
+        GL11.glEnableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+        GL11.glVertexPointer(2, GL11.GL_FLOAT, stride, 0L);
+        GL11.glTexCoordPointer(2, GL11.GL_FLOAT, stride, 2L * Float.BYTES);
+        GL11.glDrawArrays(GL11.GL_TRIANGLES, 0, vertexCount);
+        GL11.glDisableClientState(GL11.GL_TEXTURE_COORD_ARRAY);
+        GL11.glDisableClientState(GL11.GL_VERTEX_ARRAY);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, 0);
         GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
         GL11.glDisable(GL11.GL_TEXTURE_2D);
+        vertices.clear();
+        vertexCount = 0;
+        drawCalls++;
+        if (debugGL) {
+            checkError("drawText");
+        }
     }
     
+    // 常用字符在初始化时一次写入图集，其余字符首次绘制时再补
     private void preloadTextures() {
         if (!initialized || texturesPreloaded) return;
         
@@ -279,164 +439,18 @@ public class GPURenderer implements IRenderer {
         
         int loaded = 0;
         int failed = 0;
-        
         for (int i = 0; i < PRELOAD_CHARS.length(); i++) {
             char c = PRELOAD_CHARS.charAt(i);
             if (c == ' ') continue;
-            
-            if (!charTextures.containsKey(c)) {
-                int error = GL11.glGetError();
-                while (error != GL11.GL_NO_ERROR) {
-                    error = GL11.glGetError();
-                }
-                
-                int textureId = createCharTexture(c);
-                if (textureId > 0) {
-                    charTextures.put(c, textureId);
-                    loaded++;
-                } else {
-                    failed++;
-                }
+            if (glyphs.get(c) != null) {
+                loaded++;
+            } else {
+                failed++;
             }
         }
         
         texturesPreloaded = true;
-        System.out.println("预加载字符纹理完成: " + loaded + " 成功, " + failed + " 失败");
-    }
-    
-    private int getCharTexture(char c) {
-        if (charTextures.containsKey(c)) {
-            return charTextures.get(c);
-        }
-        
-        if (!texturesPreloaded) {
-            preloadTextures();
-            if (charTextures.containsKey(c)) {
-                return charTextures.get(c);
-            }
-        }
-        
-        if (!initialized) {
-            return 0;
-        }
-        
-        GLFW.glfwMakeContextCurrent(window);
-        
-        int error = GL11.glGetError();
-        while (error != GL11.GL_NO_ERROR) {
-            error = GL11.glGetError();
-        }
-        
-        int textureId = createCharTexture(c);
-        if (textureId > 0) {
-            charTextures.put(c, textureId);
-        }
-        return textureId;
-    }
-    
-    private int createCharTexture(char c) {
-        try {
-            BufferedImage img = new BufferedImage(fontSize, fontSize, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2d = img.createGraphics();
-            
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-            g2d.setComposite(AlphaComposite.Clear);
-            g2d.fillRect(0, 0, fontSize, fontSize);
-            
-            g2d.setComposite(AlphaComposite.SrcOver);
-            g2d.setColor(new Color(255, 255, 255, 255));
-            g2d.setFont(font);
-            FontMetrics fm = g2d.getFontMetrics();
-            int x = (fontSize - fm.charWidth(c)) / 2;
-            int y = (fontSize - fm.getHeight()) / 2 + fm.getAscent();
-            g2d.drawString(String.valueOf(c), x, y);
-            g2d.dispose();
-            
-            int[] pixels = new int[fontSize * fontSize];
-            img.getRGB(0, 0, fontSize, fontSize, pixels, 0, fontSize);
-            
-            ByteBuffer buffer = ByteBuffer.allocateDirect(fontSize * fontSize * 4);
-            for (int i = 0; i < pixels.length; i++) {
-                int pixel = pixels[i];
-                buffer.put((byte) ((pixel >> 16) & 0xFF));
-                buffer.put((byte) ((pixel >> 8) & 0xFF));
-                buffer.put((byte) (pixel & 0xFF));
-                buffer.put((byte) ((pixel >> 24) & 0xFF));
-            }
-            buffer.flip();
-            
-            GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
-            GL11.glEnable(GL11.GL_TEXTURE_2D);
-            GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
-            
-            int prevError = GL11.glGetError();
-            while (prevError != GL11.GL_NO_ERROR) {
-                System.err.println("Clearing OpenGL error before genTextures for '" + c + "': " + Integer.toHexString(prevError));
-                prevError = GL11.glGetError();
-            }
-            
-            int textureId;
-            try {
-                IntBuffer ids = BufferUtils.createIntBuffer(1);
-                GL11.glGenTextures(ids);
-                textureId = ids.get(0);
-            } catch (Throwable t) {
-                textureId = GL11.glGenTextures();
-            }
-            
-            if (textureId <= 0) {
-                int genError = GL11.glGetError();
-                System.err.println("glGenTextures returned 0 or negative for char '" + c + "'");
-                if (genError != GL11.GL_NO_ERROR) {
-                    System.err.println("OpenGL error code: 0x" + Integer.toHexString(genError));
-                } else {
-                    System.err.println("No OpenGL error reported, but textureId is invalid. Possible causes:");
-                    System.err.println("  - OpenGL context not properly initialized");
-                    System.err.println("  - Reached texture limit");
-                    System.err.println("  - Graphics driver issue");
-                }
-                return 0;
-            }
-            
-            int genError = GL11.glGetError();
-            if (genError != GL11.GL_NO_ERROR) {
-                System.err.println("OpenGL error after glGenTextures for '" + c + "': 0x" + Integer.toHexString(genError));
-                GL11.glDeleteTextures(textureId);
-                return 0;
-            }
-            
-            GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
-            
-            int bindError = GL11.glGetError();
-            if (bindError != GL11.GL_NO_ERROR) {
-                System.err.println("OpenGL error binding texture for '" + c + "': " + Integer.toHexString(bindError));
-                GL11.glDeleteTextures(textureId);
-                return 0;
-            }
-            
-            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
-            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
-            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
-            GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
-            GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, fontSize, fontSize, 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, buffer);
-            
-            int texError = GL11.glGetError();
-            if (texError != GL11.GL_NO_ERROR) {
-                System.err.println("OpenGL error uploading texture data for '" + c + "': " + Integer.toHexString(texError));
-                GL11.glDeleteTextures(textureId);
-                return 0;
-            }
-            
-            GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
-            GL11.glDisable(GL11.GL_TEXTURE_2D);
-            
-            return textureId;
-        } catch (Exception e) {
-            System.err.println("Exception creating texture for char '" + c + "': " + e.getMessage());
-            e.printStackTrace();
-            return 0;
-        }
+        System.out.println("预加载字形图集完成: " + loaded + " 成功, " + failed + " 失败, 纹理页 " + glyphs.getPageCount());
     }
 
     private int createTestTexture() {
@@ -472,45 +486,6 @@ public class GPURenderer implements IRenderer {
         }
     }
     
-    private void drawThickLine(float x1, float y1, float x2, float y2, float thickness, float r, float g, float b, float a) {
-        float dx = x2 - x1;
-        float dy = y2 - y1;
-        float len = (float) Math.sqrt(dx * dx + dy * dy);
-        if (len < 0.001f) {
-            return;
-        }
-        
-        float halfThick = thickness * 0.5f;
-        float nx = 0.0f, ny = 0.0f;
-        
-        if (Math.abs(dx) < 0.001f) {
-            nx = halfThick;
-            ny = 0.0f;
-        } else if (Math.abs(dy) < 0.001f) {
-            nx = 0.0f;
-            ny = halfThick;
-        } else {
-            float invLen = 1.0f / len;
-            nx = -dy * invLen * halfThick;
-            ny = dx * invLen * halfThick;
-        }
-        
-        GL11.glPushMatrix();
-        GL11.glLoadIdentity();
-        GL11.glDisable(GL11.GL_TEXTURE_2D);
-        GL11.glDisable(GL11.GL_LIGHTING);
-        GL11.glColor4f(r, g, b, a);
-        GL11.glBegin(GL11.GL_TRIANGLE_STRIP);
-        GL11.glVertex2f(x1 - nx, y1 - ny);
-        GL11.glVertex2f(x1 + nx, y1 + ny);
-        GL11.glVertex2f(x2 - nx, y2 - ny);
-        GL11.glVertex2f(x2 + nx, y2 + ny);
-        GL11.glEnd();
-        GL11.glPopMatrix();
-    }
-    
-    
-    
     @Override
     public boolean shouldClose() {
         if (!initialized) return false;
@@ -529,12 +504,11 @@ public class GPURenderer implements IRenderer {
     
     @Override
     public void cleanup() {
-        for (Integer textureId : charTextures.values()) {
-            if (textureId > 0) {
-                GL11.glDeleteTextures(textureId);
-            }
+        if (vbo != 0) {
+            GL15.glDeleteBuffers(vbo);
+            vbo = 0;
         }
-        charTextures.clear();
+        glyphs.dispose();
         
         if (window != MemoryUtil.NULL) {
             GLFW.glfwDestroyWindow(window);
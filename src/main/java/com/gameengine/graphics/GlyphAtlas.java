@@ -0,0 +1,183 @@
+package com.gameengine.graphics;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// 字形图集：每个字符栅格化到 cellSize 见方的格子里，按行排进 PAGE_SIZE 见方的纹理页，
+// 当前页排满时再分配新页。格子之间留透明间隔、UV 向内收半个纹素，缩放绘制时线性过滤不会采到相邻字形。ASCII 字形用数组查找，其余字符走 HashMap；需在 GL 上下文线程调用
+class GlyphAtlas {
+    static final int PAGE_SIZE = 512;
+    // 每个格子四周的透明间隔（像素）
+    private static final int GUTTER = 1;
+
+    static final class Glyph {
+        final int page;
+        final float u0;
+        final float v0;
+        final float u1;
+        final float v1;
+
+        Glyph(int page, float u0, float v0, float u1, float v1) {
+            this.page = page;
+            this.u0 = u0;
+            this.v0 = v0;
+            this.u1 = u1;
+            this.v1 = v1;
+        }
+    }
+
+    private final Font font;
+    private final int cellSize;
+    // 格子加上两侧间隔后的跨度
+    private final int slotSize;
+    private final int cellsPerRow;
+    private final int cellsPerPage;
+    private final Glyph[] ascii;
+    private final Map<Character, Glyph> others;
+    // 栅格化用的画布与上传缓冲，所有字形复用
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final ByteBuffer cellBuffer;
+    private int[] pages;
+    private int pageCount;
+    // 当前页已用的格子数
+    private int usedCells;
+
+    GlyphAtlas(Font font, int cellSize) {
+        this.font = font;
+        this.cellSize = cellSize;
+        this.slotSize = cellSize + GUTTER * 2;
+        this.cellsPerRow = PAGE_SIZE / slotSize;
+        this.cellsPerPage = cellsPerRow * cellsPerRow;
+        this.ascii = new Glyph[128];
+        this.others = new HashMap<>();
+        this.image = new BufferedImage(cellSize, cellSize, BufferedImage.TYPE_INT_ARGB);
+        this.pixels = new int[cellSize * cellSize];
+        this.cellBuffer = BufferUtils.createByteBuffer(cellSize * cellSize * 4);
+        this.pages = new int[2];
+        this.pageCount = 0;
+        this.usedCells = cellsPerPage;
+    }
+
+    int getPageCount() {
+        return pageCount;
+    }
+
+    int getPageTexture(int page) {
+        return pages[page];
+    }
+
+    // 首次使用的字符即时栅格化并写入图集；失败时返回 null
+    Glyph get(char c) {
+        Glyph glyph = c < ascii.length ? ascii[c] : others.get(c);
+        if (glyph == null) {
+            glyph = add(c);
+            if (glyph != null) {
+                if (c < ascii.length) {
+                    ascii[c] = glyph;
+                } else {
+                    others.put(c, glyph);
+                }
+            }
+        }
+        return glyph;
+    }
+
+    private Glyph add(char c) {
+        if (usedCells == cellsPerPage && !addPage()) {
+            return null;
+        }
+        int page = pageCount - 1;
+        int cell = usedCells++;
+        int cx = (cell % cellsPerRow) * slotSize + GUTTER;
+        int cy = (cell / cellsPerRow) * slotSize + GUTTER;
+
+        rasterize(c);
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, pages[page]);
+        GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+        GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, cx, cy, cellSize, cellSize, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, cellBuffer);
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+
+        float scale = 1.0f / PAGE_SIZE;
+        return new Glyph(page, (cx + 0.5f) * scale, (cy + 0.5f) * scale,
+            (cx + cellSize - 0.5f) * scale, (cy + cellSize - 0.5f) * scale);
+    }
+
+    private boolean addPage() {
+        int textureId = GL11.glGenTextures();
+        if (textureId <= 0) {
+            int err = GL11.glGetError();
+            System.err.println("字形图集纹理页创建失败" + (err != GL11.GL_NO_ERROR ? ": 0x" + Integer.toHexString(err) : ""));
+            return false;
+        }
+        // 新页先清成全透明，之后按格子局部更新
+        ByteBuffer blank = BufferUtils.createByteBuffer(PAGE_SIZE * PAGE_SIZE * 4);
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_LINEAR);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_LINEAR);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
+        GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, PAGE_SIZE, PAGE_SIZE, 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, blank);
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+        int err = GL11.glGetError();
+        if (err != GL11.GL_NO_ERROR) {
+            System.err.println("字形图集纹理页上传失败: 0x" + Integer.toHexString(err));
+            GL11.glDeleteTextures(textureId);
+            return false;
+        }
+
+        if (pageCount == pages.length) {
+            pages = Arrays.copyOf(pages, pageCount * 2);
+        }
+        pages[pageCount++] = textureId;
+        usedCells = 0;
+        return true;
+    }
+
+    // 白色字形居中画在格子里，颜色由绘制时的顶点颜色调制
+    private void rasterize(char c) {
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(0, 0, cellSize, cellSize);
+
+        g2d.setComposite(AlphaComposite.SrcOver);
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(font);
+        FontMetrics fm = g2d.getFontMetrics();
+        int x = (cellSize - fm.charWidth(c)) / 2;
+        int y = (cellSize - fm.getHeight()) / 2 + fm.getAscent();
+        g2d.drawString(String.valueOf(c), x, y);
+        g2d.dispose();
+
+        image.getRGB(0, 0, cellSize, cellSize, pixels, 0, cellSize);
+        cellBuffer.clear();
+        for (int i = 0; i < pixels.length; i++) {
+            int pixel = pixels[i];
+            cellBuffer.put((byte) ((pixel >> 16) & 0xFF));
+            cellBuffer.put((byte) ((pixel >> 8) & 0xFF));
+            cellBuffer.put((byte) (pixel & 0xFF));
+            cellBuffer.put((byte) ((pixel >> 24) & 0xFF));
+        }
+        cellBuffer.flip();
+    }
+
+    void dispose() {
+        for (int i = 0; i < pageCount; i++) {
+            GL11.glDeleteTextures(pages[i]);
+        }
+        pageCount = 0;
+        usedCells = cellsPerPage;
+        Arrays.fill(ascii, null);
+        others.clear();
+    }
+}
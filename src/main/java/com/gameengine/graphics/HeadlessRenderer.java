@@ -0,0 +1,156 @@
+package com.gameengine.graphics;
+
+// 无窗口渲染后端：不调用任何 GL，只统计绘制调用次数，用于构建服务器上的压测、录制与基准
+public class HeadlessRenderer implements IRenderer {
+    // 文字尺寸与 GPURenderer 的 32px 等宽字形一致，保证两种后端下的排版相同
+    private static final float LINE_HEIGHT = 32f;
+    private static final float CHAR_WIDTH = LINE_HEIGHT * 0.6f;
+    private static final float CHAR_SPACING = 1.0f;
+
+    private final int width;
+    private final int height;
+    private final String title;
+    private volatile boolean closeRequested;
+    private long frames;
+    private long rectCalls;
+    private long circleCalls;
+    private long lineCalls;
+    private long textCalls;
+    private long particleBatchCalls;
+    private long particlesDrawn;
+    private int frameDrawCalls;
+    private int lastFrameDrawCalls;
+
+    public HeadlessRenderer(int width, int height, String title) {
+        this.width = width;
+        this.height = height;
+        this.title = title;
+        this.closeRequested = false;
+    }
+
+    @Override
+    public void beginFrame() {
+        frameDrawCalls = 0;
+    }
+
+    @Override
+    public void endFrame() {
+        lastFrameDrawCalls = frameDrawCalls;
+        frames++;
+    }
+
+    @Override
+    public void drawRect(float x, float y, float width, float height, float r, float g, float b, float a) {
+        rectCalls++;
+        frameDrawCalls++;
+    }
+
+    @Override
+    public void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+        circleCalls++;
+        frameDrawCalls++;
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
+        lineCalls++;
+        frameDrawCalls++;
+    }
+
+    @Override
+    public void drawText(float x, float y, String text, float r, float g, float b, float a) {
+        textCalls++;
+        frameDrawCalls++;
+    }
+
+    @Override
+    public void drawParticles(ParticleBatch batch) {
+        if (batch.size() == 0) return;
+        particleBatchCalls++;
+        particlesDrawn += batch.size();
+        frameDrawCalls++;
+    }
+
+    @Override
+    public float getTextWidth(String text) {
+        if (text == null) return 0f;
+        float width = 0f;
+        for (int i = 0; i < text.length(); i++) {
+            width += text.charAt(i) == ' ' ? CHAR_WIDTH * 0.5f : CHAR_WIDTH + CHAR_SPACING;
+        }
+        return width;
+    }
+
+    @Override
+    public float getLineHeight() {
+        return LINE_HEIGHT;
+    }
+
+    public void requestClose() {
+        closeRequested = true;
+    }
+
+    @Override
+    public boolean shouldClose() {
+        return closeRequested;
+    }
+
+    @Override
+    public void pollEvents() {
+    }
+
+    @Override
+    public void cleanup() {
+    }
+
+    public long getFrameCount() {
+        return frames;
+    }
+
+    public long getTotalDrawCalls() {
+        return rectCalls + circleCalls + lineCalls + textCalls + particleBatchCalls;
+    }
+
+    public long getRectCalls() {
+        return rectCalls;
+    }
+
+    public long getCircleCalls() {
+        return circleCalls;
+    }
+
+    public long getLineCalls() {
+        return lineCalls;
+    }
+
+    public long getTextCalls() {
+        return textCalls;
+    }
+
+    public long getParticleBatchCalls() {
+        return particleBatchCalls;
+    }
+
+    public long getParticlesDrawn() {
+        return particlesDrawn;
+    }
+
+    public int getLastFrameDrawCalls() {
+        return lastFrameDrawCalls;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+}
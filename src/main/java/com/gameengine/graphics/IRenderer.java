@@ -8,6 +8,11 @@ public interface IRenderer {
     void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a);
     void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a);
     void drawText(float x, float y, String text, float r, float g, float b, float a);
+    // 整批绘制粒子；与逐个 drawRect 的结果相同，绘制顺序即批内顺序
+    void drawParticles(ParticleBatch batch);
+    // 文字排版尺寸（像素）：drawText 绘制该字符串占用的宽度与一行的高度
+    float getTextWidth(String text);
+    float getLineHeight();
     
     boolean shouldClose();
     void pollEvents();
@@ -0,0 +1,83 @@
+package com.gameengine.graphics;
+
+import java.util.Arrays;
+
+// 一批正方形粒子（中心坐标、边长、颜色按属性分列）：由粒子系统每帧填充一次，
+// 通过 IRenderer.drawParticles 整批提交，GPU 后端一次上传、一次绘制
+public class ParticleBatch {
+    float[] x;
+    float[] y;
+    float[] size;
+    float[] r;
+    float[] g;
+    float[] b;
+    float[] a;
+    int count;
+
+    public ParticleBatch() {
+        this(256);
+    }
+
+    public ParticleBatch(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    private void allocate(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+        size = new float[capacity];
+        r = new float[capacity];
+        g = new float[capacity];
+        b = new float[capacity];
+        a = new float[capacity];
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // 容量不足时一次扩到位，之后的 add 不再分配
+    public void ensureCapacity(int capacity) {
+        if (x.length >= capacity) return;
+        int newCapacity = Math.max(capacity, x.length * 2);
+        x = Arrays.copyOf(x, newCapacity);
+        y = Arrays.copyOf(y, newCapacity);
+        size = Arrays.copyOf(size, newCapacity);
+        r = Arrays.copyOf(r, newCapacity);
+        g = Arrays.copyOf(g, newCapacity);
+        b = Arrays.copyOf(b, newCapacity);
+        a = Arrays.copyOf(a, newCapacity);
+    }
+
+    public void add(float cx, float cy, float side, float pr, float pg, float pb, float pa) {
+        if (count == x.length) {
+            ensureCapacity(count + 1);
+        }
+        int i = count++;
+        x[i] = cx;
+        y[i] = cy;
+        size[i] = side;
+        r[i] = pr;
+        g[i] = pg;
+        b[i] = pb;
+        a[i] = pa;
+    }
+
+    // 快照录制时复制一份，原批次随即可被仿真线程复用
+    void copyFrom(ParticleBatch other) {
+        ensureCapacity(other.count);
+        int n = other.count;
+        System.arraycopy(other.x, 0, x, 0, n);
+        System.arraycopy(other.y, 0, y, 0, n);
+        System.arraycopy(other.size, 0, size, 0, n);
+        System.arraycopy(other.r, 0, r, 0, n);
+        System.arraycopy(other.g, 0, g, 0, n);
+        System.arraycopy(other.b, 0, b, 0, n);
+        System.arraycopy(other.a, 0, a, 0, n);
+        count = n;
+    }
+}
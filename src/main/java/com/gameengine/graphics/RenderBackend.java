@@ -1,6 +1,6 @@
 package com.gameengine.graphics;
 
 public enum RenderBackend {
-    GPU
+    GPU,
+    HEADLESS
 }
-
@@ -0,0 +1,150 @@
+package com.gameengine.graphics;
+
+import java.util.Arrays;
+
+// 一帧的绘制命令快照：基本类型数组紧凑存放，发布后只读，由渲染线程回放到真实渲染器
+public class RenderSnapshot {
+    private static final byte RECT = 0;
+    private static final byte CIRCLE = 1;
+    private static final byte LINE = 2;
+    private static final byte TEXT = 3;
+    private static final byte PARTICLES = 4;
+
+    private byte[] ops;
+    private int opCount;
+    private float[] data;
+    private int dataCount;
+    private String[] texts;
+    private int textCount;
+    // 粒子批次的副本按帧复用，只在某帧批次数超过以往时新建
+    private ParticleBatch[] batches;
+    private int batchCount;
+    private long frameIndex;
+
+    public RenderSnapshot() {
+        this.ops = new byte[256];
+        this.data = new float[256 * 8];
+        this.texts = new String[16];
+        this.batches = new ParticleBatch[4];
+    }
+
+    void reset(long frameIndex) {
+        this.frameIndex = frameIndex;
+        Arrays.fill(texts, 0, textCount, null);
+        opCount = 0;
+        dataCount = 0;
+        textCount = 0;
+        batchCount = 0;
+    }
+
+    public long getFrameIndex() {
+        return frameIndex;
+    }
+
+    public int getCommandCount() {
+        return opCount;
+    }
+
+    void addRect(float x, float y, float w, float h, float r, float g, float b, float a) {
+        op(RECT, 8);
+        put8(x, y, w, h, r, g, b, a);
+    }
+
+    void addCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+        op(CIRCLE, 8);
+        data[dataCount++] = segments;
+        data[dataCount++] = x;
+        data[dataCount++] = y;
+        data[dataCount++] = radius;
+        data[dataCount++] = r;
+        data[dataCount++] = g;
+        data[dataCount++] = b;
+        data[dataCount++] = a;
+    }
+
+    void addLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
+        op(LINE, 8);
+        put8(x1, y1, x2, y2, r, g, b, a);
+    }
+
+    void addText(float x, float y, String text, float r, float g, float b, float a) {
+        op(TEXT, 6);
+        if (textCount == texts.length) {
+            texts = Arrays.copyOf(texts, textCount * 2);
+        }
+        texts[textCount++] = text;
+        data[dataCount++] = x;
+        data[dataCount++] = y;
+        data[dataCount++] = r;
+        data[dataCount++] = g;
+        data[dataCount++] = b;
+        data[dataCount++] = a;
+    }
+
+    void addParticles(ParticleBatch batch) {
+        op(PARTICLES, 0);
+        if (batchCount == batches.length) {
+            batches = Arrays.copyOf(batches, batchCount * 2);
+        }
+        if (batches[batchCount] == null) {
+            batches[batchCount] = new ParticleBatch(batch.size());
+        }
+        batches[batchCount++].copyFrom(batch);
+    }
+
+    public void replay(IRenderer target) {
+        int d = 0;
+        int t = 0;
+        int p = 0;
+        for (int i = 0; i < opCount; i++) {
+            switch (ops[i]) {
+                case RECT:
+                    target.drawRect(data[d], data[d + 1], data[d + 2], data[d + 3],
+                                    data[d + 4], data[d + 5], data[d + 6], data[d + 7]);
+                    d += 8;
+                    break;
+                case CIRCLE:
+                    target.drawCircle(data[d + 1], data[d + 2], data[d + 3], (int) data[d],
+                                      data[d + 4], data[d + 5], data[d + 6], data[d + 7]);
+                    d += 8;
+                    break;
+                case LINE:
+                    target.drawLine(data[d], data[d + 1], data[d + 2], data[d + 3],
+                                    data[d + 4], data[d + 5], data[d + 6], data[d + 7]);
+                    d += 8;
+                    break;
+                case TEXT:
+                    target.drawText(data[d], data[d + 1], texts[t++],
+                                    data[d + 2], data[d + 3], data[d + 4], data[d + 5]);
+                    d += 6;
+                    break;
+                case PARTICLES:
+                    target.drawParticles(batches[p++]);
+                    break;
+                default:
+                    return;
+            }
+        }
+    }
+
+    private void op(byte op, int floats) {
+        if (opCount == ops.length) {
+            ops = Arrays.copyOf(ops, opCount * 2);
+        }
+        if (dataCount + floats > data.length) {
+            data = Arrays.copyOf(data, Math.max(dataCount + floats, data.length * 2));
+        }
+        ops[opCount++] = op;
+    }
+
+    private void put8(float a0, float a1, float a2, float a3, float a4, float a5, float a6, float a7) {
+        data[dataCount++] = a0;
+        data[dataCount++] = a1;
+        data[dataCount++] = a2;
+        data[dataCount++] = a3;
+        data[dataCount++] = a4;
+        data[dataCount++] = a5;
+        data[dataCount++] = a6;
+        data[dataCount++] = a7;
+    }
+}
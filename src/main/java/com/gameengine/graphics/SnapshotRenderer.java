@@ -0,0 +1,114 @@
+package com.gameengine.graphics;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// 流水线模式下仿真线程使用的渲染器：绘制调用只记录到快照，endFrame 时通过三缓冲无锁发布，
+// 渲染线程取最新快照回放到真实渲染器。窗口事件与资源释放仍由持有上下文的渲染线程负责。
+public class SnapshotRenderer implements IRenderer {
+    private static final class Slot {
+        final RenderSnapshot snapshot = new RenderSnapshot();
+        boolean fresh;
+    }
+
+    private final IRenderer display;
+    private final AtomicReference<Slot> ready;
+    private Slot back;
+    private Slot front;
+    private long frameCounter;
+
+    public SnapshotRenderer(IRenderer display) {
+        this.display = display;
+        this.ready = new AtomicReference<>(new Slot());
+        this.back = new Slot();
+        this.front = new Slot();
+        this.frameCounter = 0;
+    }
+
+    public IRenderer getDisplay() {
+        return display;
+    }
+
+    // 渲染线程调用：有新快照时与共享槽交换并返回，否则返回 null
+    public RenderSnapshot acquireLatest() {
+        if (!ready.get().fresh) return null;
+        front.fresh = false;
+        front = ready.getAndSet(front);
+        return front.snapshot;
+    }
+
+    @Override
+    public void beginFrame() {
+        back.snapshot.reset(++frameCounter);
+    }
+
+    @Override
+    public void endFrame() {
+        back.fresh = true;
+        back = ready.getAndSet(back);
+    }
+
+    @Override
+    public void drawRect(float x, float y, float width, float height, float r, float g, float b, float a) {
+        back.snapshot.addRect(x, y, width, height, r, g, b, a);
+    }
+
+    @Override
+    public void drawCircle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+        back.snapshot.addCircle(x, y, radius, segments, r, g, b, a);
+    }
+
+    @Override
+    public void drawLine(float x1, float y1, float x2, float y2, float r, float g, float b, float a) {
+        back.snapshot.addLine(x1, y1, x2, y2, r, g, b, a);
+    }
+
+    @Override
+    public void drawText(float x, float y, String text, float r, float g, float b, float a) {
+        if (text == null || text.isEmpty()) return;
+        back.snapshot.addText(x, y, text, r, g, b, a);
+    }
+
+    @Override
+    public void drawParticles(ParticleBatch batch) {
+        if (batch.size() == 0) return;
+        back.snapshot.addParticles(batch);
+    }
+
+    @Override
+    public float getTextWidth(String text) {
+        return display.getTextWidth(text);
+    }
+
+    @Override
+    public float getLineHeight() {
+        return display.getLineHeight();
+    }
+
+    @Override
+    public boolean shouldClose() {
+        return display.shouldClose();
+    }
+
+    @Override
+    public void pollEvents() {
+    }
+
+    @Override
+    public void cleanup() {
+    }
+
+    @Override
+    public int getWidth() {
+        return display.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return display.getHeight();
+    }
+
+    @Override
+    public String getTitle() {
+        return display.getTitle();
+    }
+}
@@ -1,13 +1,30 @@
 package com.gameengine.input;
 
 import com.gameengine.math.Vector2;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class InputManager {
+    // 事件三元组 {类型, 参数1, 参数2} 的类型；输入录制按原样保存这些三元组
+    public static final int KEY_PRESSED = 0;
+    public static final int KEY_RELEASED = 1;
+    public static final int MOUSE_MOVED = 2;
+    public static final int MOUSE_PRESSED = 3;
+    public static final int MOUSE_RELEASED = 4;
+    
     private static InputManager instance;
+    // 窗口回调（渲染线程）只入队，仿真 tick 开始时由 processEvents 统一应用
+    private final ConcurrentLinkedQueue<int[]> pendingEvents = new ConcurrentLinkedQueue<>();
+    // 本 tick processEvents 实际应用的事件（按应用顺序），供输入录制读取
+    private final List<int[]> appliedEvents = new ArrayList<>();
+    // 输入回放期间关闭，窗口回调的事件被丢弃，只接受 enqueueEvent 注入的录制事件
+    private volatile boolean externalInputEnabled = true;
     private Set<Integer> pressedKeys;
     private Set<Integer> justPressedKeys;
     private Map<Integer, Boolean> keyStates;
@@ -38,7 +55,96 @@ public class InputManager {
         }
     }
     
+    public void processEvents() {
+        appliedEvents.clear();
+        int[] event;
+        while ((event = pendingEvents.poll()) != null) {
+            appliedEvents.add(event);
+            switch (event[0]) {
+                case KEY_PRESSED:
+                    applyKeyPressed(event[1]);
+                    break;
+                case KEY_RELEASED:
+                    applyKeyReleased(event[1]);
+                    break;
+                case MOUSE_MOVED:
+                    mousePosition.x = Float.intBitsToFloat(event[1]);
+                    mousePosition.y = Float.intBitsToFloat(event[2]);
+                    break;
+                case MOUSE_PRESSED:
+                    applyMousePressed(event[1]);
+                    break;
+                case MOUSE_RELEASED:
+                    applyMouseReleased(event[1]);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+    
     public void onKeyPressed(int keyCode) {
+        if (!externalInputEnabled) return;
+        pendingEvents.add(new int[]{KEY_PRESSED, keyCode, 0});
+    }
+    
+    public void onKeyReleased(int keyCode) {
+        if (!externalInputEnabled) return;
+        pendingEvents.add(new int[]{KEY_RELEASED, keyCode, 0});
+    }
+    
+    public void onMouseMoved(float x, float y) {
+        if (!externalInputEnabled) return;
+        pendingEvents.add(new int[]{MOUSE_MOVED, Float.floatToIntBits(x), Float.floatToIntBits(y)});
+    }
+    
+    public void onMousePressed(int button) {
+        if (!externalInputEnabled) return;
+        pendingEvents.add(new int[]{MOUSE_PRESSED, button, 0});
+    }
+    
+    public void onMouseReleased(int button) {
+        if (!externalInputEnabled) return;
+        pendingEvents.add(new int[]{MOUSE_RELEASED, button, 0});
+    }
+    
+    // 注入一条录制的事件，下一次 processEvents 时按入队顺序应用
+    public void enqueueEvent(int type, int a, int b) {
+        pendingEvents.add(new int[]{type, a, b});
+    }
+    
+    public List<int[]> getAppliedEvents() {
+        return appliedEvents;
+    }
+    
+    public boolean isExternalInputEnabled() {
+        return externalInputEnabled;
+    }
+    
+    public void setExternalInputEnabled(boolean externalInputEnabled) {
+        this.externalInputEnabled = externalInputEnabled;
+    }
+    
+    // 回放开始时恢复录制开始时的输入状态，并丢弃尚未应用的事件
+    public void resetState(Collection<Integer> keys, float mouseX, float mouseY, boolean[] buttons) {
+        pendingEvents.clear();
+        appliedEvents.clear();
+        pressedKeys.clear();
+        justPressedKeys.clear();
+        keyStates.clear();
+        for (Integer key : keys) {
+            pressedKeys.add(key);
+            keyStates.put(key, true);
+        }
+        mousePosition.x = mouseX;
+        mousePosition.y = mouseY;
+        for (int i = 0; i < mouseButtons.length; i++) {
+            mouseButtons[i] = buttons != null && i < buttons.length && buttons[i];
+            mouseButtonsJustPressed[i] = false;
+        }
+    }
+    
+    private void applyKeyPressed(int keyCode) {
         if (!pressedKeys.contains(keyCode)) {
             justPressedKeys.add(keyCode);
         }
@@ -46,17 +152,12 @@ public class InputManager {
         keyStates.put(keyCode, true);
     }
     
-    public void onKeyReleased(int keyCode) {
+    private void applyKeyReleased(int keyCode) {
         pressedKeys.remove(keyCode);
         keyStates.put(keyCode, false);
     }
     
-    public void onMouseMoved(float x, float y) {
-        mousePosition.x = x;
-        mousePosition.y = y;
-    }
-    
-    public void onMousePressed(int button) {
+    private void applyMousePressed(int button) {
         if (button >= 0 && button < mouseButtons.length) {
             if (!mouseButtons[button]) {
                 mouseButtonsJustPressed[button] = true;
@@ -65,7 +166,7 @@ public class InputManager {
         }
     }
     
-    public void onMouseReleased(int button) {
+    private void applyMouseReleased(int button) {
         if (button >= 0 && button < mouseButtons.length) {
             mouseButtons[button] = false;
         }
@@ -105,6 +206,10 @@ public class InputManager {
         return new java.util.HashSet<>(justPressedKeys);
     }
     
+    public java.util.Set<Integer> getPressedKeysSnapshot() {
+        return new java.util.HashSet<>(pressedKeys);
+    }
+    
     public Vector2 getMousePosition() {
         return new Vector2(mousePosition);
     }
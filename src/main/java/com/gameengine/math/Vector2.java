@@ -30,6 +30,72 @@ public class Vector2 {
         return new Vector2(this.x * scalar, this.y * scalar);
     }
     
+    // 以下 *Local / set 方法原地修改并返回自身，供每帧热路径使用，不产生临时对象
+    public Vector2 set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+    
+    public Vector2 set(Vector2 other) {
+        this.x = other.x;
+        this.y = other.y;
+        return this;
+    }
+    
+    public Vector2 addLocal(Vector2 other) {
+        this.x += other.x;
+        this.y += other.y;
+        return this;
+    }
+    
+    public Vector2 addLocal(float dx, float dy) {
+        this.x += dx;
+        this.y += dy;
+        return this;
+    }
+    
+    public Vector2 subtractLocal(Vector2 other) {
+        this.x -= other.x;
+        this.y -= other.y;
+        return this;
+    }
+    
+    public Vector2 scaleLocal(float scalar) {
+        this.x *= scalar;
+        this.y *= scalar;
+        return this;
+    }
+    
+    // this += other * scalar（积分常用形式）
+    public Vector2 addScaledLocal(Vector2 other, float scalar) {
+        this.x += other.x * scalar;
+        this.y += other.y * scalar;
+        return this;
+    }
+    
+    public Vector2 normalizeLocal() {
+        float mag = magnitude();
+        if (mag == 0) {
+            x = 0;
+            y = 0;
+        } else {
+            x /= mag;
+            y /= mag;
+        }
+        return this;
+    }
+    
+    public float magnitudeSq() {
+        return x * x + y * y;
+    }
+    
+    public float distanceSq(Vector2 other) {
+        float dx = this.x - other.x;
+        float dy = this.y - other.y;
+        return dx * dx + dy * dy;
+    }
+    
     public float magnitude() {
         return (float) Math.sqrt(x * x + y * y);
     }
@@ -45,7 +111,7 @@ public class Vector2 {
     }
     
     public float distance(Vector2 other) {
-        return this.subtract(other).magnitude();
+        return (float) Math.sqrt(distanceSq(other));
     }
     
     @Override
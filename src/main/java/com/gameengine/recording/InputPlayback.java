@@ -0,0 +1,214 @@
+package com.gameengine.recording;
+
+import com.gameengine.input.InputManager;
+import com.gameengine.scene.Scene;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// 仅输入录制的回放：恢复录制开始时的输入状态，之后每个 tick 开始前把该 tick 录下的原始输入事件注入 InputManager，
+// 配合确定性模式（相同种子与步长）重新仿真；到达结束 tick 时与录制端的状态哈希比对
+public class InputPlayback {
+    private final long seed;
+    private final float tickRate;
+    private final int width;
+    private final int height;
+    private final int worldWidth;
+    private final int worldHeight;
+    private final List<Integer> initialKeys;
+    private final float initialMouseX;
+    private final float initialMouseY;
+    private final boolean[] initialButtons;
+    // 按 tick 升序；eventData 中第 k 个 tick 的事件为 [eventStart[k], eventStart[k + 1]) 的三元组
+    private final long[] eventTicks;
+    private final int[] eventStart;
+    private final int[] eventData;
+    private final long endTick;
+    private final String endHash;
+    private long startTick;
+    private int cursor;
+
+    private InputPlayback(long seed, float tickRate, int width, int height, int worldWidth, int worldHeight,
+                          List<Integer> initialKeys, float initialMouseX, float initialMouseY, boolean[] initialButtons,
+                          long[] eventTicks, int[] eventStart, int[] eventData, long endTick, String endHash) {
+        this.seed = seed;
+        this.tickRate = tickRate;
+        this.width = width;
+        this.height = height;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.initialKeys = initialKeys;
+        this.initialMouseX = initialMouseX;
+        this.initialMouseY = initialMouseY;
+        this.initialButtons = initialButtons;
+        this.eventTicks = eventTicks;
+        this.eventStart = eventStart;
+        this.eventData = eventData;
+        this.endTick = endTick;
+        this.endHash = endHash;
+    }
+
+    // 不是仅输入录制（或文件无法读取）时返回 null，调用方按关键帧录制处理
+    public static InputPlayback load(String path, RecordingStorage storage) {
+        long seed = 0L;
+        float tickRate = 60.0f;
+        int width = 0;
+        int height = 0;
+        int worldWidth = 0;
+        int worldHeight = 0;
+        boolean inputOnly = false;
+        List<Integer> keys = new ArrayList<>();
+        float mouseX = 0f;
+        float mouseY = 0f;
+        boolean[] buttons = new boolean[3];
+        List<Long> ticks = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        List<Integer> data = new ArrayList<>();
+        long endTick = -1L;
+        String endHash = null;
+        try {
+            for (String line : storage.readLines(path)) {
+                if (line.contains("\"type\":\"header\"")) {
+                    inputOnly = "inputs".equals(RecordingJson.stripQuotes(RecordingJson.field(line, "mode")));
+                    seed = RecordingJson.parseLong(RecordingJson.field(line, "seed"));
+                    tickRate = (float) RecordingJson.parseDouble(RecordingJson.field(line, "tickRate"));
+                    width = (int) RecordingJson.parseDouble(RecordingJson.field(line, "w"));
+                    height = (int) RecordingJson.parseDouble(RecordingJson.field(line, "h"));
+                    worldWidth = (int) RecordingJson.parseDouble(RecordingJson.field(line, "worldW"));
+                    worldHeight = (int) RecordingJson.parseDouble(RecordingJson.field(line, "worldH"));
+                    if (!inputOnly) return null;
+                } else if (line.contains("\"type\":\"inputstate\"")) {
+                    for (int key : parseInts(line, "keys")) {
+                        keys.add(key);
+                    }
+                    // 鼠标坐标按 float 位模式保存，保证逐位还原
+                    mouseX = Float.intBitsToFloat((int) RecordingJson.parseLong(RecordingJson.field(line, "mx")));
+                    mouseY = Float.intBitsToFloat((int) RecordingJson.parseLong(RecordingJson.field(line, "my")));
+                    int[] pressed = parseInts(line, "buttons");
+                    for (int i = 0; i < pressed.length && i < buttons.length; i++) {
+                        buttons[i] = pressed[i] != 0;
+                    }
+                } else if (line.contains("\"type\":\"events\"")) {
+                    int[] events = parseInts(line, "events");
+                    ticks.add(RecordingJson.parseLong(RecordingJson.field(line, "tick")));
+                    starts.add(data.size());
+                    for (int i = 0; i + 2 < events.length; i += 3) {
+                        data.add(events[i]);
+                        data.add(events[i + 1]);
+                        data.add(events[i + 2]);
+                    }
+                } else if (line.contains("\"type\":\"end\"")) {
+                    endTick = RecordingJson.parseLong(RecordingJson.field(line, "tick"));
+                    endHash = RecordingJson.stripQuotes(RecordingJson.field(line, "hash"));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("读取输入录制失败: " + e.getMessage());
+            return null;
+        }
+        if (!inputOnly) return null;
+
+        long[] eventTicks = new long[ticks.size()];
+        int[] eventStart = new int[ticks.size() + 1];
+        for (int i = 0; i < ticks.size(); i++) {
+            eventTicks[i] = ticks.get(i);
+            eventStart[i] = starts.get(i);
+        }
+        eventStart[ticks.size()] = data.size();
+        int[] eventData = new int[data.size()];
+        for (int i = 0; i < eventData.length; i++) {
+            eventData[i] = data.get(i);
+        }
+        // 录制未正常结束（没有 end 行）时回放到最后一个有事件的 tick 为止
+        if (endTick < 0) {
+            endTick = eventTicks.length > 0 ? eventTicks[eventTicks.length - 1] : 0;
+        }
+        return new InputPlayback(seed, tickRate, width, height, worldWidth, worldHeight, keys, mouseX, mouseY, buttons,
+            eventTicks, eventStart, eventData, endTick, endHash);
+    }
+
+    private static int[] parseInts(String line, String key) {
+        int idx = line.indexOf("\"" + key + "\":[");
+        if (idx < 0) return new int[0];
+        String arr = RecordingJson.extractArray(line, line.indexOf('[', idx)).trim();
+        if (arr.isEmpty()) return new int[0];
+        String[] parts = arr.split(",");
+        int[] out = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            out[i] = (int) RecordingJson.parseLong(parts[i]);
+        }
+        return out;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public float getTickRate() {
+        return tickRate;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    // 0 表示录制没有记录世界尺寸
+    public int getWorldWidth() {
+        return worldWidth;
+    }
+
+    public int getWorldHeight() {
+        return worldHeight;
+    }
+
+    public long getEndTick() {
+        return endTick;
+    }
+
+    // startTick：开始回放时引擎的 tick 序号（与录制端一致：中途开始的那个 tick 记为 0）
+    public void begin(InputManager input, long startTick) {
+        this.startTick = startTick;
+        this.cursor = 0;
+        input.resetState(initialKeys, initialMouseX, initialMouseY, initialButtons);
+        input.setExternalInputEnabled(false);
+    }
+
+    // 每个 tick 处理输入事件之前调用（engineTick 为该 tick 的序号）；
+    // 录制的最后一个 tick 执行完后返回 false 表示回放结束，此时已完成状态校验
+    public boolean feed(InputManager input, Scene scene, long engineTick) {
+        long tick = engineTick - startTick;
+        if (tick > endTick) {
+            verify(scene);
+            return false;
+        }
+        while (cursor < eventTicks.length && eventTicks[cursor] < tick) {
+            cursor++;
+        }
+        if (cursor < eventTicks.length && eventTicks[cursor] == tick) {
+            for (int i = eventStart[cursor]; i < eventStart[cursor + 1]; i += 3) {
+                input.enqueueEvent(eventData[i], eventData[i + 1], eventData[i + 2]);
+            }
+            cursor++;
+        }
+        return true;
+    }
+
+    public void finish(InputManager input) {
+        input.setExternalInputEnabled(true);
+    }
+
+    private void verify(Scene scene) {
+        if (endHash == null || endHash.isEmpty() || scene == null) return;
+        String actual = RecordingService.stateHash(scene);
+        if (endHash.equals(actual)) {
+            System.out.println("输入回放完成，状态校验一致 (tick=" + endTick + ", hash=" + actual + ")");
+        } else {
+            System.err.println("输入回放状态不一致: 录制 " + endHash + "，回放 " + actual + " (tick=" + endTick + ")");
+        }
+    }
+}
@@ -7,6 +7,8 @@ public class RecordingConfig {
     public float positionThreshold = 0.5f; // pixels
     public int quantizeDecimals = 2;
     public int queueCapacity = 2048;
+    // 仅录制输入（需确定性模式）：不写关键帧，回放时以相同种子重新仿真
+    public boolean inputOnly = false;
 
     public RecordingConfig(String outputPath) {
         this.outputPath = outputPath;
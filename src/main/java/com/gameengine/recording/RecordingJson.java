@@ -33,6 +33,12 @@ public final class RecordingJson {
         try { return Double.parseDouble(stripQuotes(s)); } catch (Exception e) { return 0.0; }
     }
 
+    // 整数字段（种子、tick）按 long 解析，避免经 double 丢失精度
+    public static long parseLong(String s) {
+        if (s == null) return 0L;
+        try { return Long.parseLong(stripQuotes(s).trim()); } catch (Exception e) { return (long) parseDouble(s); }
+    }
+
     public static String[] splitTopLevel(String arr) {
         List<String> out = new ArrayList<>();
         int depth = 0; int start = 0;
@@ -17,21 +17,37 @@ public class RecordingService {
     private final BlockingQueue<String> lineQueue;
     private volatile boolean recording;
     private Thread writerThread;
-    private RecordingStorage storage = new FileRecordingStorage();
+    private final RecordingStorage storage;
     private double elapsed;
     private double keyframeElapsed;
     private double sampleAccumulator;
     private final double warmupSec = 0.1; // 等待一帧让场景对象完成初始化
     private final DecimalFormat qfmt;
     private Scene lastScene;
+    // 写入 header 的仿真参数，由引擎在 start 之前提供
+    private boolean deterministic;
+    private long seed;
+    private float tickRate;
+    // 世界尺寸决定物理边界与区块划分，回放必须一致
+    private int worldWidth;
+    private int worldHeight;
+    // 录制开始时引擎的 tick 序号；此后的 tick 以相对序号写出，回放端按同样方式对齐
+    private long startTick;
+    private long lastTick;
 
     public RecordingService(RecordingConfig config) {
+        this(config, new FileRecordingStorage());
+    }
+
+    public RecordingService(RecordingConfig config, RecordingStorage storage) {
         this.config = config;
+        this.storage = storage;
         this.lineQueue = new ArrayBlockingQueue<>(config.queueCapacity);
         this.recording = false;
         this.elapsed = 0.0;
         this.keyframeElapsed = 0.0;
         this.sampleAccumulator = 0.0;
+        this.tickRate = 60.0f;
         this.qfmt = new DecimalFormat();
         this.qfmt.setMaximumFractionDigits(Math.max(0, config.quantizeDecimals));
         this.qfmt.setGroupingUsed(false);
@@ -41,6 +57,16 @@ public class RecordingService {
         return recording;
     }
 
+    public void setSimulationInfo(boolean deterministic, long seed, float tickRate, long startTick,
+                                  int worldWidth, int worldHeight) {
+        this.deterministic = deterministic;
+        this.seed = seed;
+        this.tickRate = tickRate;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.startTick = startTick;
+    }
+
     public void start(Scene scene, int width, int height) throws IOException {
         if (recording) return;
         storage.openWriter(config.outputPath);
@@ -64,14 +90,24 @@ public class RecordingService {
         writerThread.start();
 
         // header
-        enqueue("{\"type\":\"header\",\"version\":1,\"w\":" + width + ",\"h\":" + height + "}");
+        enqueue("{\"type\":\"header\",\"version\":2,\"w\":" + width + ",\"h\":" + height
+            + ",\"mode\":\"" + (config.inputOnly ? "inputs" : "keyframes") + "\""
+            + ",\"deterministic\":" + deterministic + ",\"seed\":" + seed + ",\"tickRate\":" + tickRate
+            + ",\"worldW\":" + worldWidth + ",\"worldH\":" + worldHeight + "}");
         keyframeElapsed = 0.0;
+        lastTick = startTick;
+        if (config.inputOnly) {
+            writeInputState(InputManager.getInstance());
+        }
     }
 
     public void stop() {
         if (!recording) return;
         try {
-            if (lastScene != null) {
+            if (config.inputOnly) {
+                String hash = lastScene != null ? stateHash(lastScene) : "";
+                enqueue("{\"type\":\"end\",\"tick\":" + (lastTick - startTick) + ",\"hash\":\"" + hash + "\"}");
+            } else if (lastScene != null) {
                 writeKeyframe(lastScene);
             }
         } catch (Exception ignored) {}
@@ -80,12 +116,26 @@ public class RecordingService {
     }
 
     public void update(double deltaTime, Scene scene, InputManager input) {
+        update(deltaTime, lastTick + 1, scene, input);
+    }
+
+    // tick 为引擎当前 tick 序号
+    public void update(double deltaTime, long tick, Scene scene, InputManager input) {
         if (!recording) return;
+        lastTick = tick;
         elapsed += deltaTime;
         keyframeElapsed += deltaTime;
         sampleAccumulator += deltaTime;
         lastScene = scene;
 
+        if (config.inputOnly) {
+            // 在某个 tick 中途开始录制时，该 tick 的事件已体现在初始输入状态中
+            if (tick > startTick) {
+                writeTickEvents(tick - startTick, input.getAppliedEvents());
+            }
+            return;
+        }
+
         // input events (sample at native frequency, but只写有justPressed)
         Set<Integer> just = input.getJustPressedKeysSnapshot();
         if (!just.isEmpty()) {
@@ -111,13 +161,63 @@ public class RecordingService {
         }
     }
 
+    private void writeInputState(InputManager input) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"type\":\"inputstate\",\"keys\":[");
+        boolean first = true;
+        for (Integer k : input.getPressedKeysSnapshot()) {
+            if (!first) sb.append(',');
+            sb.append(k);
+            first = false;
+        }
+        sb.append("],\"mx\":").append(Float.floatToRawIntBits(input.getMouseX()))
+          .append(",\"my\":").append(Float.floatToRawIntBits(input.getMouseY()))
+          .append(",\"buttons\":[");
+        for (int b = 0; b < 3; b++) {
+            if (b > 0) sb.append(',');
+            sb.append(input.isMouseButtonPressed(b) ? 1 : 0);
+        }
+        sb.append("]}");
+        enqueue(sb.toString());
+    }
+
+    // 原样写出本 tick 应用的事件三元组；没有事件的 tick 不写
+    private void writeTickEvents(long tick, List<int[]> events) {
+        if (events.isEmpty()) return;
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"type\":\"events\",\"tick\":").append(tick).append(",\"events\":[");
+        for (int i = 0; i < events.size(); i++) {
+            int[] e = events.get(i);
+            if (i > 0) sb.append(',');
+            sb.append(e[0]).append(',').append(e[1]).append(',').append(e[2]);
+        }
+        sb.append("]}");
+        enqueue(sb.toString());
+    }
+
+    // 场景状态指纹：按场景顺序混合对象名与位置的位模式，用于校验两次仿真逐位一致
+    public static String stateHash(Scene scene) {
+        long h = 0xcbf29ce484222325L;
+        int total = scene.getGameObjectCount();
+        for (int i = 0; i < total; i++) {
+            GameObject obj = scene.getGameObject(i);
+            TransformComponent tc = obj.getComponent(TransformComponent.class);
+            if (tc == null) continue;
+            h = (h ^ obj.getName().hashCode()) * 0x100000001b3L;
+            h = (h ^ Float.floatToRawIntBits(tc.getX())) * 0x100000001b3L;
+            h = (h ^ Float.floatToRawIntBits(tc.getY())) * 0x100000001b3L;
+        }
+        return Long.toHexString(h);
+    }
+
     private boolean writeKeyframe(Scene scene) {
         StringBuilder sb = new StringBuilder();
         sb.append("{\"type\":\"keyframe\",\"t\":").append(qfmt.format(elapsed)).append(",\"entities\":[");
-        List<GameObject> objs = scene.getGameObjects();
         boolean first = true;
         int count = 0;
-        for (GameObject obj : objs) {
+        int total = scene.getGameObjectCount();
+        for (int i = 0; i < total; i++) {
+            GameObject obj = scene.getGameObject(i);
             TransformComponent tc = obj.getComponent(TransformComponent.class);
             if (tc == null) continue;
             float x = tc.getPosition().x;
@@ -0,0 +1,319 @@
+package com.gameengine.scene;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.ComponentType;
+import com.gameengine.core.GameObject;
+import com.gameengine.math.Vector2;
+
+import java.util.Arrays;
+
+// 同一组件组合的对象共享一组连续的基本类型数组（SoA），系统按行线性遍历
+public class Archetype {
+    public static final int TRANSFORM = 1;
+    public static final int PHYSICS = 1 << 1;
+    // sleepTicks 中表示“正在休眠”/“所在区块被冻结”；组件写入 0 即请求唤醒
+    public static final int ASLEEP = -1;
+    public static final int FROZEN = -2;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final ComponentType<TransformComponent> TRANSFORM_TYPE = ComponentType.of(TransformComponent.class);
+    private static final ComponentType<PhysicsComponent> PHYSICS_TYPE = ComponentType.of(PhysicsComponent.class);
+
+    private final int mask;
+    private GameObject[] entities;
+    private int count;
+    // 行按 [0, awakeCount) 清醒、[awakeCount, count) 休眠分区，系统只遍历清醒段
+    private int awakeCount;
+    // 休眠段中有行被请求唤醒；PhysicsSystem 只在置位时扫描休眠段
+    private boolean wakePending;
+
+    // Transform 列
+    public float[] posX;
+    public float[] posY;
+    // 上一 tick 结束时的位置，用于渲染插值
+    public float[] prevX;
+    public float[] prevY;
+
+    // Physics 列（仅当 mask 含 PHYSICS 时分配）
+    public float[] velX;
+    public float[] velY;
+    public float[] accX;
+    public float[] accY;
+    public float[] friction;
+    public float[] mass;
+    public float[] gravX;
+    public float[] gravY;
+    public boolean[] useGravity;
+    public boolean[] physicsEnabled;
+    // 清醒行：连续低速的 tick 数；休眠行：ASLEEP 或 FROZEN，被组件改写为 0 时由 PhysicsSystem 唤醒
+    public int[] sleepTicks;
+
+    public Archetype(int mask) {
+        this.mask = mask;
+        this.entities = new GameObject[INITIAL_CAPACITY];
+        this.count = 0;
+        this.posX = new float[INITIAL_CAPACITY];
+        this.posY = new float[INITIAL_CAPACITY];
+        this.prevX = new float[INITIAL_CAPACITY];
+        this.prevY = new float[INITIAL_CAPACITY];
+        if (hasPhysics()) {
+            this.velX = new float[INITIAL_CAPACITY];
+            this.velY = new float[INITIAL_CAPACITY];
+            this.accX = new float[INITIAL_CAPACITY];
+            this.accY = new float[INITIAL_CAPACITY];
+            this.friction = new float[INITIAL_CAPACITY];
+            this.mass = new float[INITIAL_CAPACITY];
+            this.gravX = new float[INITIAL_CAPACITY];
+            this.gravY = new float[INITIAL_CAPACITY];
+            this.useGravity = new boolean[INITIAL_CAPACITY];
+            this.physicsEnabled = new boolean[INITIAL_CAPACITY];
+            this.sleepTicks = new int[INITIAL_CAPACITY];
+        }
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    public boolean hasPhysics() {
+        return (mask & PHYSICS) != 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getAwakeCount() {
+        return awakeCount;
+    }
+
+    public boolean isAsleep(int row) {
+        return row >= awakeCount;
+    }
+
+    // 休眠行与休眠段首行交换后并入清醒段
+    public void wakeRow(int row) {
+        if (row < awakeCount || row >= count) return;
+        swapRows(row, awakeCount);
+        sleepTicks[awakeCount] = 0;
+        awakeCount++;
+    }
+
+    // 清醒行与清醒段末行交换后划入休眠段
+    public void sleepRow(int row) {
+        parkRow(row, ASLEEP);
+    }
+
+    // 与 sleepRow 相同，但标记为区块冻结：区块恢复仿真时才唤醒，与速度无关
+    public void freezeRow(int row) {
+        parkRow(row, FROZEN);
+    }
+
+    // 停下的行不再参与上一位置的逐 tick 拷贝，这里先对齐，渲染插值不会停在半路
+    private void parkRow(int row, int state) {
+        if (row >= awakeCount) return;
+        int lastAwake = --awakeCount;
+        swapRows(row, lastAwake);
+        sleepTicks[lastAwake] = state;
+        prevX[lastAwake] = posX[lastAwake];
+        prevY[lastAwake] = posY[lastAwake];
+    }
+
+    // 组件写入物理状态时调用：只写本行，可与其他行的写入并发；实际唤醒在下一步物理开始时进行
+    public void requestWake(int row) {
+        sleepTicks[row] = 0;
+        if (row >= awakeCount) {
+            wakePending = true;
+        }
+    }
+
+    // 取出并清除唤醒请求标记
+    public boolean takeWakePending() {
+        boolean pending = wakePending;
+        wakePending = false;
+        return pending;
+    }
+
+    public GameObject getEntity(int row) {
+        return entities[row];
+    }
+
+    // 把对象当前（组件本地）的状态写入新行，之后组件读写都指向本行
+    int add(GameObject obj) {
+        ensureCapacity(count + 1);
+        int row = count++;
+        entities[row] = obj;
+
+        TransformComponent transform = obj.getComponent(TRANSFORM_TYPE);
+        float x = transform.getX();
+        float y = transform.getY();
+        posX[row] = x;
+        posY[row] = y;
+        prevX[row] = x;
+        prevY[row] = y;
+
+        if (hasPhysics()) {
+            PhysicsComponent physics = obj.getComponent(PHYSICS_TYPE);
+            Vector2 vel = physics.getVelocity();
+            Vector2 acc = physics.getAcceleration();
+            Vector2 grav = physics.getGravity();
+            velX[row] = vel.x;
+            velY[row] = vel.y;
+            accX[row] = acc.x;
+            accY[row] = acc.y;
+            friction[row] = physics.getFriction();
+            mass[row] = physics.getMass();
+            gravX[row] = grav.x;
+            gravY[row] = grav.y;
+            useGravity[row] = physics.isUseGravity();
+            physicsEnabled[row] = physics.isEnabled();
+            sleepTicks[row] = 0;
+        }
+
+        obj.setArchetype(this, row);
+        // 新对象总是清醒：有休眠行时与休眠段首行交换
+        if (row != awakeCount) {
+            swapRows(row, awakeCount);
+            row = awakeCount;
+        }
+        awakeCount++;
+        return row;
+    }
+
+    // 把本行数据写回组件本地字段，再用末行填补空位（swap-remove）
+    void remove(GameObject obj) {
+        int row = obj.getArchetypeRow();
+        if (row < 0 || row >= count || entities[row] != obj) return;
+
+        float x = posX[row];
+        float y = posY[row];
+        obj.setArchetype(null, -1);
+
+        TransformComponent transform = obj.getComponent(TRANSFORM_TYPE);
+        if (transform != null) {
+            transform.setPosition(x, y);
+        }
+        if (hasPhysics()) {
+            PhysicsComponent physics = obj.getComponent(PHYSICS_TYPE);
+            if (physics != null) {
+                physics.setVelocity(velX[row], velY[row]);
+                physics.setAcceleration(accX[row], accY[row]);
+                physics.setFriction(friction[row]);
+                physics.setMass(mass[row]);
+                physics.setGravity(gravX[row], gravY[row]);
+                physics.setUseGravity(useGravity[row]);
+            }
+        }
+
+        // 保持清醒/休眠分区：清醒行由清醒段末行补位，再由最后一行补到清醒段末尾
+        int last = --count;
+        if (row < awakeCount) {
+            int lastAwake = --awakeCount;
+            if (row != lastAwake) {
+                moveRow(lastAwake, row);
+                entities[row].setArchetype(this, row);
+            }
+            row = lastAwake;
+        }
+        if (row != last) {
+            moveRow(last, row);
+            entities[row].setArchetype(this, row);
+        }
+        entities[last] = null;
+    }
+
+    // 只拷贝清醒段：休眠与冻结的行不移动，入段时已对齐上一位置
+    void storePreviousPositions() {
+        System.arraycopy(posX, 0, prevX, 0, awakeCount);
+        System.arraycopy(posY, 0, prevY, 0, awakeCount);
+    }
+
+    void clear() {
+        while (count > 0) {
+            remove(entities[count - 1]);
+        }
+    }
+
+    private void moveRow(int from, int to) {
+        entities[to] = entities[from];
+        posX[to] = posX[from];
+        posY[to] = posY[from];
+        prevX[to] = prevX[from];
+        prevY[to] = prevY[from];
+        if (hasPhysics()) {
+            velX[to] = velX[from];
+            velY[to] = velY[from];
+            accX[to] = accX[from];
+            accY[to] = accY[from];
+            friction[to] = friction[from];
+            mass[to] = mass[from];
+            gravX[to] = gravX[from];
+            gravY[to] = gravY[from];
+            useGravity[to] = useGravity[from];
+            physicsEnabled[to] = physicsEnabled[from];
+            sleepTicks[to] = sleepTicks[from];
+        }
+    }
+
+    private void swapRows(int a, int b) {
+        if (a == b) return;
+        GameObject entity = entities[a];
+        entities[a] = entities[b];
+        entities[b] = entity;
+        swap(posX, a, b);
+        swap(posY, a, b);
+        swap(prevX, a, b);
+        swap(prevY, a, b);
+        if (hasPhysics()) {
+            swap(velX, a, b);
+            swap(velY, a, b);
+            swap(accX, a, b);
+            swap(accY, a, b);
+            swap(friction, a, b);
+            swap(mass, a, b);
+            swap(gravX, a, b);
+            swap(gravY, a, b);
+            boolean flag = useGravity[a];
+            useGravity[a] = useGravity[b];
+            useGravity[b] = flag;
+            flag = physicsEnabled[a];
+            physicsEnabled[a] = physicsEnabled[b];
+            physicsEnabled[b] = flag;
+            int ticks = sleepTicks[a];
+            sleepTicks[a] = sleepTicks[b];
+            sleepTicks[b] = ticks;
+        }
+        entities[a].setArchetype(this, a);
+        entities[b].setArchetype(this, b);
+    }
+
+    private static void swap(float[] column, int a, int b) {
+        float value = column[a];
+        column[a] = column[b];
+        column[b] = value;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= entities.length) return;
+        int capacity = Math.max(required, entities.length * 2);
+        entities = Arrays.copyOf(entities, capacity);
+        posX = Arrays.copyOf(posX, capacity);
+        posY = Arrays.copyOf(posY, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        if (hasPhysics()) {
+            velX = Arrays.copyOf(velX, capacity);
+            velY = Arrays.copyOf(velY, capacity);
+            accX = Arrays.copyOf(accX, capacity);
+            accY = Arrays.copyOf(accY, capacity);
+            friction = Arrays.copyOf(friction, capacity);
+            mass = Arrays.copyOf(mass, capacity);
+            gravX = Arrays.copyOf(gravX, capacity);
+            gravY = Arrays.copyOf(gravY, capacity);
+            useGravity = Arrays.copyOf(useGravity, capacity);
+            physicsEnabled = Arrays.copyOf(physicsEnabled, capacity);
+            sleepTicks = Arrays.copyOf(sleepTicks, capacity);
+        }
+    }
+}
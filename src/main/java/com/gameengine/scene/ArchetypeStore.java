@@ -0,0 +1,87 @@
+package com.gameengine.scene;
+
+import com.gameengine.components.PhysicsComponent;
+import com.gameengine.components.TransformComponent;
+import com.gameengine.core.ComponentType;
+import com.gameengine.core.GameObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 场景内按组件组合划分的 Archetype 集合；没有 Transform 的对象不入库
+public class ArchetypeStore {
+    private static final ComponentType<TransformComponent> TRANSFORM = ComponentType.of(TransformComponent.class);
+    private static final ComponentType<PhysicsComponent> PHYSICS = ComponentType.of(PhysicsComponent.class);
+
+    private final Map<Integer, Archetype> byMask;
+    private final List<Archetype> archetypes;
+
+    public ArchetypeStore() {
+        this.byMask = new HashMap<>();
+        this.archetypes = new ArrayList<>();
+    }
+
+    public static int maskOf(GameObject obj) {
+        if (!obj.hasComponent(TRANSFORM)) return 0;
+        int mask = Archetype.TRANSFORM;
+        if (obj.hasComponent(PHYSICS)) mask |= Archetype.PHYSICS;
+        return mask;
+    }
+
+    public void add(GameObject obj) {
+        if (obj.getArchetype() != null) return;
+        int mask = maskOf(obj);
+        if (mask == 0) return;
+        Archetype archetype = byMask.get(mask);
+        if (archetype == null) {
+            archetype = new Archetype(mask);
+            byMask.put(mask, archetype);
+            archetypes.add(archetype);
+        }
+        archetype.add(obj);
+    }
+
+    public void remove(GameObject obj) {
+        Archetype archetype = obj.getArchetype();
+        if (archetype != null) {
+            archetype.remove(obj);
+        }
+    }
+
+    // 组件结构变化后迁移到新的 Archetype（数据经组件本地字段中转）
+    public void refresh(GameObject obj) {
+        Archetype current = obj.getArchetype();
+        int mask = maskOf(obj);
+        if (current != null && current.getMask() == mask) return;
+        remove(obj);
+        add(obj);
+    }
+
+    // 每个仿真 tick 开始前调用，记录插值起点
+    public void storePreviousPositions() {
+        for (int i = 0; i < archetypes.size(); i++) {
+            archetypes.get(i).storePreviousPositions();
+        }
+    }
+
+    public void clear() {
+        for (Archetype archetype : archetypes) {
+            archetype.clear();
+        }
+    }
+
+    // 返回内部列表，调用方按下标遍历，不要修改
+    public List<Archetype> getArchetypes() {
+        return archetypes;
+    }
+
+    public int getEntityCount() {
+        int total = 0;
+        for (int i = 0; i < archetypes.size(); i++) {
+            total += archetypes.get(i).size();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,466 @@
+package com.gameengine.scene;
+
+import com.gameengine.core.GameObject;
+import com.gameengine.math.Vector2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 大世界的区块划分：世界按固定边长切成区块，每个带 Transform 的对象归属其位置所在的区块。
+// 兴趣点（玩家或登记的坐标）周围 activeRadius 圈内的区块全速仿真，reducedRadius 圈内的区块
+// 每 reducedInterval 个 tick 仿真一次（步长相应放大），其余区块冻结。各系统只遍历非冻结区块，
+// 帧开销随兴趣点附近的对象数增长，而不是随世界总对象数增长。
+public class ChunkGrid {
+    public static final byte ACTIVE = 0;
+    public static final byte REDUCED = 1;
+    public static final byte FROZEN = 2;
+
+    private final float worldWidth;
+    private final float worldHeight;
+    private final float chunkSize;
+    private final int chunksX;
+    private final int chunksY;
+    private final byte[] levels;
+    // 区块成员：按需分配，交换删除，对象自己记录所在区块与槽位
+    private GameObject[][] members;
+    private final int[] memberCounts;
+    private int trackedCount;
+
+    // 本 tick 非冻结的区块（升序），以及其中刚从冻结恢复的区块
+    private int[] liveChunks;
+    private int liveCount;
+    private int[] thawedChunks;
+    private int thawedCount;
+    private int activeChunkCount;
+    private int reducedChunkCount;
+    // 上次计算等级时非冻结的区块，用于找出恢复的区块
+    private final int[] liveStamp;
+    private int stamp;
+    private final int[] visibleStamp;
+    private int visibleFrame;
+    private boolean cullingEnabled;
+    // 本帧与视口相交的区块，渲染只遍历其中的成员
+    private int[] visibleChunks;
+    private int visibleCount;
+
+    private final List<GameObject> interestObjects;
+    private final List<Vector2> interestPoints;
+    // 上次计算等级时各兴趣点所在的区块；不变时跳过重算
+    private int[] interestChunks;
+    private int interestCount;
+    private boolean dirty;
+
+    private int activeRadius;
+    private int reducedRadius;
+    private int reducedInterval;
+    private long tick;
+
+    public ChunkGrid(float worldWidth, float worldHeight, float chunkSize) {
+        this.worldWidth = Math.max(1f, worldWidth);
+        this.worldHeight = Math.max(1f, worldHeight);
+        this.chunkSize = Math.max(1f, chunkSize);
+        this.chunksX = Math.max(1, (int) Math.ceil(this.worldWidth / this.chunkSize));
+        this.chunksY = Math.max(1, (int) Math.ceil(this.worldHeight / this.chunkSize));
+        int chunks = chunksX * chunksY;
+        this.levels = new byte[chunks];
+        this.members = new GameObject[chunks][];
+        this.memberCounts = new int[chunks];
+        this.liveChunks = new int[64];
+        this.thawedChunks = new int[64];
+        this.visibleChunks = new int[64];
+        this.liveStamp = new int[chunks];
+        this.visibleStamp = new int[chunks];
+        this.interestObjects = new ArrayList<>();
+        this.interestPoints = new ArrayList<>();
+        this.interestChunks = new int[4];
+        this.activeRadius = 1;
+        this.reducedRadius = 3;
+        this.reducedInterval = 4;
+        this.dirty = true;
+        Arrays.fill(levels, FROZEN);
+    }
+
+    public float getWorldWidth() {
+        return worldWidth;
+    }
+
+    public float getWorldHeight() {
+        return worldHeight;
+    }
+
+    public float getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getChunksX() {
+        return chunksX;
+    }
+
+    public int getChunksY() {
+        return chunksY;
+    }
+
+    // 兴趣点：对象按其当前位置，坐标按引用读取（调用方可原地修改）
+    public void addInterest(GameObject obj) {
+        if (obj != null && !interestObjects.contains(obj)) {
+            interestObjects.add(obj);
+            dirty = true;
+        }
+    }
+
+    public void removeInterest(GameObject obj) {
+        if (interestObjects.remove(obj)) {
+            dirty = true;
+        }
+    }
+
+    public void addInterestPoint(Vector2 point) {
+        if (point != null && !interestPoints.contains(point)) {
+            interestPoints.add(point);
+            dirty = true;
+        }
+    }
+
+    public void removeInterestPoint(Vector2 point) {
+        if (interestPoints.remove(point)) {
+            dirty = true;
+        }
+    }
+
+    // 半径以区块为单位（切比雪夫距离）
+    public void setActiveRadius(int activeRadius) {
+        this.activeRadius = Math.max(0, activeRadius);
+        this.reducedRadius = Math.max(this.reducedRadius, this.activeRadius);
+        dirty = true;
+    }
+
+    public void setReducedRadius(int reducedRadius) {
+        this.reducedRadius = Math.max(activeRadius, reducedRadius);
+        dirty = true;
+    }
+
+    public void setReducedInterval(int reducedInterval) {
+        this.reducedInterval = Math.max(1, reducedInterval);
+    }
+
+    public int getReducedInterval() {
+        return reducedInterval;
+    }
+
+    public int chunkX(float x) {
+        int cx = (int) (x / chunkSize);
+        return cx < 0 ? 0 : (cx >= chunksX ? chunksX - 1 : cx);
+    }
+
+    public int chunkY(float y) {
+        int cy = (int) (y / chunkSize);
+        return cy < 0 ? 0 : (cy >= chunksY ? chunksY - 1 : cy);
+    }
+
+    public int chunkAt(float x, float y) {
+        return chunkY(y) * chunksX + chunkX(x);
+    }
+
+    public byte getLevel(int chunk) {
+        return levels[chunk];
+    }
+
+    public byte levelAt(float x, float y) {
+        return levels[chunkAt(x, y)];
+    }
+
+    // 该区块本 tick 是否仿真：降频区块按区块下标错开相位，避免同一 tick 集中更新
+    public boolean isDue(int chunk) {
+        byte level = levels[chunk];
+        if (level == ACTIVE) return true;
+        if (level == FROZEN) return false;
+        return (tick + chunk) % reducedInterval == 0;
+    }
+
+    // 仿真时使用的步长倍数：降频区块一次补上间隔内的时间
+    public float getStepScale(int chunk) {
+        return levels[chunk] == REDUCED ? reducedInterval : 1f;
+    }
+
+    public int getLiveChunkCount() {
+        return liveCount;
+    }
+
+    public int getLiveChunk(int index) {
+        return liveChunks[index];
+    }
+
+    public int getThawedChunkCount() {
+        return thawedCount;
+    }
+
+    public int getThawedChunk(int index) {
+        return thawedChunks[index];
+    }
+
+    public boolean isCullingEnabled() {
+        return cullingEnabled;
+    }
+
+    public int getVisibleChunkCount() {
+        return visibleCount;
+    }
+
+    public int getVisibleChunk(int index) {
+        return visibleChunks[index];
+    }
+
+    public int getActiveChunkCount() {
+        return activeChunkCount;
+    }
+
+    public int getReducedChunkCount() {
+        return reducedChunkCount;
+    }
+
+    public int getMemberCount(int chunk) {
+        return memberCounts[chunk];
+    }
+
+    public GameObject getMember(int chunk, int index) {
+        return members[chunk][index];
+    }
+
+    public int getTrackedCount() {
+        return trackedCount;
+    }
+
+    // 非冻结区块中的对象数
+    public int getLiveObjectCount() {
+        int total = 0;
+        for (int i = 0; i < liveCount; i++) {
+            total += memberCounts[liveChunks[i]];
+        }
+        return total;
+    }
+
+    // 每 tick 开始时由引擎调用：先把上一 tick 移动过的对象归入新区块，再按兴趣点刷新区块等级
+    public void update(long tick) {
+        this.tick = tick;
+        rebucketLive();
+        thawedCount = 0;
+        if (interestMoved()) {
+            recomputeLevels();
+        }
+    }
+
+    void add(GameObject obj) {
+        Archetype archetype = obj.getArchetype();
+        if (archetype == null || obj.getChunk() >= 0) return;
+        int row = obj.getArchetypeRow();
+        insert(obj, chunkAt(archetype.posX[row], archetype.posY[row]));
+        trackedCount++;
+    }
+
+    void remove(GameObject obj) {
+        if (obj.getChunk() < 0) return;
+        detach(obj);
+        obj.setChunk(-1, -1);
+        trackedCount--;
+    }
+
+    // 对象被直接设置位置（瞬移）后立即归入新区块，冻结区块里的对象也不会滞留在旧区块
+    public void onMoved(GameObject obj) {
+        int chunk = obj.getChunk();
+        Archetype archetype = obj.getArchetype();
+        if (chunk < 0 || archetype == null) return;
+        int row = obj.getArchetypeRow();
+        int target = chunkAt(archetype.posX[row], archetype.posY[row]);
+        if (target != chunk) {
+            detach(obj);
+            insert(obj, target);
+        }
+    }
+
+    void clear() {
+        for (int c = 0; c < members.length; c++) {
+            GameObject[] list = members[c];
+            for (int k = 0; k < memberCounts[c]; k++) {
+                list[k].setChunk(-1, -1);
+                list[k] = null;
+            }
+            memberCounts[c] = 0;
+        }
+        trackedCount = 0;
+        interestObjects.clear();
+        interestPoints.clear();
+        dirty = true;
+    }
+
+    // 渲染前标记与视口相交的区块；viewWidth <= 0 表示不裁剪
+    public void markVisible(float x, float y, float viewWidth, float viewHeight) {
+        cullingEnabled = viewWidth > 0 && viewHeight > 0;
+        visibleCount = 0;
+        if (!cullingEnabled) return;
+        visibleFrame++;
+        int x0 = chunkX(x);
+        int x1 = chunkX(x + viewWidth);
+        int y0 = chunkY(y);
+        int y1 = chunkY(y + viewHeight);
+        int n = (x1 - x0 + 1) * (y1 - y0 + 1);
+        if (visibleChunks.length < n) {
+            visibleChunks = new int[Math.max(n, visibleChunks.length * 2)];
+        }
+        for (int cy = y0; cy <= y1; cy++) {
+            for (int cx = x0; cx <= x1; cx++) {
+                int chunk = cy * chunksX + cx;
+                visibleStamp[chunk] = visibleFrame;
+                visibleChunks[visibleCount++] = chunk;
+            }
+        }
+    }
+
+    public boolean isVisible(GameObject obj) {
+        int chunk = obj.getChunk();
+        return !cullingEnabled || chunk < 0 || visibleStamp[chunk] == visibleFrame;
+    }
+
+    private void insert(GameObject obj, int chunk) {
+        GameObject[] list = members[chunk];
+        int n = memberCounts[chunk];
+        if (list == null) {
+            list = new GameObject[8];
+            members[chunk] = list;
+        } else if (n == list.length) {
+            list = Arrays.copyOf(list, n * 2);
+            members[chunk] = list;
+        }
+        list[n] = obj;
+        memberCounts[chunk] = n + 1;
+        obj.setChunk(chunk, n);
+    }
+
+    private void detach(GameObject obj) {
+        int chunk = obj.getChunk();
+        int slot = obj.getChunkSlot();
+        GameObject[] list = members[chunk];
+        int last = --memberCounts[chunk];
+        if (slot != last) {
+            list[slot] = list[last];
+            list[slot].setChunk(chunk, slot);
+        }
+        list[last] = null;
+    }
+
+    // 只有非冻结区块里的对象会被系统移动；从末尾向前检查，交换删除换来的对象已检查过
+    private void rebucketLive() {
+        for (int i = 0; i < liveCount; i++) {
+            int chunk = liveChunks[i];
+            for (int k = memberCounts[chunk] - 1; k >= 0; k--) {
+                GameObject obj = members[chunk][k];
+                Archetype archetype = obj.getArchetype();
+                if (archetype == null) continue;
+                int row = obj.getArchetypeRow();
+                int target = chunkAt(archetype.posX[row], archetype.posY[row]);
+                if (target != chunk) {
+                    detach(obj);
+                    insert(obj, target);
+                }
+            }
+        }
+    }
+
+    private boolean interestMoved() {
+        int n = interestObjects.size() + interestPoints.size();
+        if (interestChunks.length < n) {
+            interestChunks = Arrays.copyOf(interestChunks, Math.max(n, interestChunks.length * 2));
+            dirty = true;
+        }
+        if (n != interestCount) {
+            dirty = true;
+        }
+        int k = 0;
+        for (int i = 0; i < interestObjects.size(); i++) {
+            GameObject obj = interestObjects.get(i);
+            Archetype archetype = obj.getArchetype();
+            int chunk = -1;
+            if (archetype != null && obj.isActive()) {
+                int row = obj.getArchetypeRow();
+                chunk = chunkAt(archetype.posX[row], archetype.posY[row]);
+            }
+            if (interestChunks[k] != chunk) {
+                interestChunks[k] = chunk;
+                dirty = true;
+            }
+            k++;
+        }
+        for (int i = 0; i < interestPoints.size(); i++) {
+            Vector2 point = interestPoints.get(i);
+            int chunk = chunkAt(point.x, point.y);
+            if (interestChunks[k] != chunk) {
+                interestChunks[k] = chunk;
+                dirty = true;
+            }
+            k++;
+        }
+        interestCount = n;
+        return dirty;
+    }
+
+    private void recomputeLevels() {
+        dirty = false;
+        stamp++;
+        for (int i = 0; i < liveCount; i++) {
+            int chunk = liveChunks[i];
+            liveStamp[chunk] = stamp;
+            levels[chunk] = FROZEN;
+        }
+        liveCount = 0;
+
+        for (int i = 0; i < interestCount; i++) {
+            int center = interestChunks[i];
+            if (center < 0) continue;
+            int cx = center % chunksX;
+            int cy = center / chunksX;
+            for (int y = Math.max(0, cy - reducedRadius); y <= Math.min(chunksY - 1, cy + reducedRadius); y++) {
+                for (int x = Math.max(0, cx - reducedRadius); x <= Math.min(chunksX - 1, cx + reducedRadius); x++) {
+                    int distance = Math.max(Math.abs(x - cx), Math.abs(y - cy));
+                    markLive(y * chunksX + x, distance <= activeRadius ? ACTIVE : REDUCED);
+                }
+            }
+        }
+        // 没有兴趣点时整个世界全速仿真，与不分区块时一致；登记了兴趣对象但它还没挂入场景时
+        // 整个世界先保持冻结，否则首个 tick 会让全部对象（AI 状态、粒子发射器等）都活动一遍
+        if (interestCount == 0) {
+            for (int chunk = 0; chunk < levels.length; chunk++) {
+                markLive(chunk, ACTIVE);
+            }
+        }
+        Arrays.sort(liveChunks, 0, liveCount);
+
+        activeChunkCount = 0;
+        reducedChunkCount = 0;
+        for (int i = 0; i < liveCount; i++) {
+            int chunk = liveChunks[i];
+            if (levels[chunk] == ACTIVE) {
+                activeChunkCount++;
+            } else {
+                reducedChunkCount++;
+            }
+            if (liveStamp[chunk] != stamp) {
+                if (thawedCount == thawedChunks.length) {
+                    thawedChunks = Arrays.copyOf(thawedChunks, thawedCount * 2);
+                }
+                thawedChunks[thawedCount++] = chunk;
+            }
+        }
+    }
+
+    private void markLive(int chunk, byte level) {
+        if (levels[chunk] == FROZEN) {
+            if (liveCount == liveChunks.length) {
+                liveChunks = Arrays.copyOf(liveChunks, liveCount * 2);
+            }
+            liveChunks[liveCount++] = chunk;
+            levels[chunk] = level;
+        } else if (level < levels[chunk]) {
+            levels[chunk] = level;
+        }
+    }
+}
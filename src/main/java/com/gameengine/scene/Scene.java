@@ -2,15 +2,36 @@ package com.gameengine.scene;
 
 import com.gameengine.core.GameObject;
 import com.gameengine.core.Component;
+import com.gameengine.core.ObjectPool;
+import com.gameengine.core.Tag;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class Scene {
+    private static final float VIEW_MARGIN = 64f;
     private String name;
     private List<GameObject> gameObjects;
     private List<GameObject> objectsToAdd;
     private List<GameObject> objectsToRemove;
     private boolean initialized;
+    private float interpolationAlpha = 1.0f;
+    // 相机：渲染时世界坐标减去该偏移；视口尺寸用于按区块裁剪（<= 0 不裁剪）
+    private float cameraX;
+    private float cameraY;
+    private float viewWidth;
+    private float viewHeight;
+    // 大世界的区块划分（可选）；为 null 时所有对象每 tick 都更新
+    private ChunkGrid chunkGrid;
+    // 有区块划分时：不归属区块的对象（没有 Transform）照常逐 tick 更新与绘制；失活对象由 setActive 登记，
+    // 下次 update 移出，不必扫描全部对象；本 tick 要更新的区块成员先拷出再调用（对象移动会改动区块成员数组）
+    private final List<GameObject> unchunkedObjects;
+    private final List<GameObject> deactivatedObjects;
+    private GameObject[] dueObjects;
+    private float[] dueSteps;
+    private final ArchetypeStore archetypeStore;
+    private final Map<Class<?>, SceneQuery<?>> queries;
+    private final List<SceneQuery<?>> queryList;
+    // 按 Tag id 下标的标签索引
+    private TagGroup[] tagGroups;
     
     public Scene(String name) {
         this.name = name;
@@ -18,6 +39,14 @@ public class Scene {
         this.objectsToAdd = new ArrayList<>();
         this.objectsToRemove = new ArrayList<>();
         this.initialized = false;
+        this.archetypeStore = new ArchetypeStore();
+        this.queries = new HashMap<>();
+        this.queryList = new ArrayList<>();
+        this.tagGroups = new TagGroup[8];
+        this.unchunkedObjects = new ArrayList<>();
+        this.deactivatedObjects = new ArrayList<>();
+        this.dueObjects = new GameObject[64];
+        this.dueSteps = new float[64];
     }
     
     public void initialize() {
@@ -30,6 +59,7 @@ public class Scene {
     public void update(float deltaTime) {
         for (GameObject obj : objectsToAdd) {
             gameObjects.add(obj);
+            attach(obj);
             if (initialized) {
                 obj.initialize();
             }
@@ -37,10 +67,18 @@ public class Scene {
         objectsToAdd.clear();
         
         for (GameObject obj : objectsToRemove) {
-            gameObjects.remove(obj);
+            if (gameObjects.remove(obj)) {
+                detach(obj);
+            }
         }
         objectsToRemove.clear();
         
+        if (chunkGrid != null) {
+            removeDeactivated();
+            updateLiveChunks(chunkGrid, deltaTime);
+            return;
+        }
+        
         Iterator<GameObject> iterator = gameObjects.iterator();
         while (iterator.hasNext()) {
             GameObject obj = iterator.next();
@@ -48,11 +86,202 @@ public class Scene {
                 obj.update(deltaTime);
             } else {
                 iterator.remove();
+                detach(obj);
+                recycle(obj);
+            }
+        }
+    }
+    
+    // 只在本 tick 有对象失活时压缩一次对象列表（保持顺序），按失活顺序移出并归还对象池
+    private void removeDeactivated() {
+        if (deactivatedObjects.isEmpty()) return;
+        gameObjects.removeIf(obj -> !obj.isActive());
+        for (int i = 0; i < deactivatedObjects.size(); i++) {
+            GameObject obj = deactivatedObjects.get(i);
+            // 同一对象可能登记多次，或登记后又被重新激活
+            if (!obj.isActive() && obj.getScene() == this) {
+                detach(obj);
+                recycle(obj);
+            }
+        }
+        deactivatedObjects.clear();
+    }
+    
+    // 只遍历非冻结区块：降频区块轮到时以放大的步长更新
+    private void updateLiveChunks(ChunkGrid grid, float deltaTime) {
+        int n = 0;
+        for (int i = 0; i < grid.getLiveChunkCount(); i++) {
+            int chunk = grid.getLiveChunk(i);
+            if (!grid.isDue(chunk)) continue;
+            float step = grid.getStepScale(chunk);
+            int members = grid.getMemberCount(chunk);
+            if (n + members > dueObjects.length) {
+                int capacity = Math.max(n + members, dueObjects.length * 2);
+                dueObjects = Arrays.copyOf(dueObjects, capacity);
+                dueSteps = Arrays.copyOf(dueSteps, capacity);
+            }
+            for (int k = 0; k < members; k++) {
+                dueObjects[n] = grid.getMember(chunk, k);
+                dueSteps[n] = step;
+                n++;
+            }
+        }
+        for (int i = 0; i < unchunkedObjects.size(); i++) {
+            GameObject obj = unchunkedObjects.get(i);
+            if (obj.isActive()) {
+                obj.update(deltaTime);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            GameObject obj = dueObjects[i];
+            if (obj.isActive() && obj.getScene() == this) {
+                obj.update(deltaTime * dueSteps[i]);
+            }
+        }
+        Arrays.fill(dueObjects, 0, n, null);
+    }
+    
+    private void attach(GameObject obj) {
+        obj.setScene(this);
+        archetypeStore.add(obj);
+        if (chunkGrid != null) {
+            track(obj);
+        }
+        getTagged(obj.getTag()).add(obj);
+        for (int i = 0; i < queryList.size(); i++) {
+            queryList.get(i).onAdded(obj);
+        }
+    }
+    
+    private void detach(GameObject obj) {
+        if (chunkGrid != null) {
+            if (obj.getChunk() < 0) {
+                unchunkedObjects.remove(obj);
+            } else {
+                chunkGrid.remove(obj);
+            }
+        }
+        archetypeStore.remove(obj);
+        getTagged(obj.getTag()).remove(obj);
+        for (int i = 0; i < queryList.size(); i++) {
+            queryList.get(i).onRemoved(obj);
+        }
+        obj.setScene(null);
+    }
+    
+    // 归入所在区块；没有 Transform 的对象单独记录，已失活的对象等待下次 update 移出
+    private void track(GameObject obj) {
+        chunkGrid.add(obj);
+        if (obj.getChunk() < 0) {
+            unchunkedObjects.add(obj);
+        }
+        if (!obj.isActive()) {
+            deactivatedObjects.add(obj);
+        }
+    }
+    
+    // 失活的池化对象在离开 Archetype（状态已写回组件）后归还对象池
+    private void recycle(GameObject obj) {
+        ObjectPool<GameObject> pool = obj.getPool();
+        if (pool != null) {
+            pool.release(obj);
+        }
+    }
+    
+    // 对象在场景中新增组件后由 GameObject 回调，迁移到对应的 Archetype 并补进查询
+    public void onComponentsChanged(GameObject obj) {
+        archetypeStore.refresh(obj);
+        if (chunkGrid != null && obj.getChunk() < 0) {
+            chunkGrid.add(obj);
+            if (obj.getChunk() >= 0) {
+                unchunkedObjects.remove(obj);
+            }
+        }
+        for (int i = 0; i < queryList.size(); i++) {
+            queryList.get(i).onAdded(obj);
+        }
+    }
+    
+    // 已挂入场景的对象失活时由 GameObject 回调；不分区块时 update 本来就逐个检查
+    public void onDeactivated(GameObject obj) {
+        if (chunkGrid != null) {
+            deactivatedObjects.add(obj);
+        }
+    }
+    
+    // 已挂入场景的对象改名后由 GameObject 回调，移到新标签的分组
+    public void onTagChanged(GameObject obj, Tag oldTag) {
+        getTagged(oldTag).remove(obj);
+        getTagged(obj.getTag()).add(obj);
+    }
+    
+    // 取得某标签的对象分组（不存在时创建空分组）；分组随 update 中的增删自动维护
+    public TagGroup getTagged(Tag tag) {
+        int id = tag.getId();
+        if (id >= tagGroups.length) {
+            tagGroups = Arrays.copyOf(tagGroups, Math.max(id + 1, tagGroups.length * 2));
+        }
+        TagGroup group = tagGroups[id];
+        if (group == null) {
+            group = new TagGroup(tag);
+            tagGroups[id] = group;
+        }
+        return group;
+    }
+    
+    public TagGroup getTagged(String name) {
+        return getTagged(Tag.of(name));
+    }
+    
+    // 注册（或取回已注册的）组件查询；返回的视图随 update 中的增删自动维护
+    @SuppressWarnings("unchecked")
+    public <T extends Component<T>> SceneQuery<T> query(Class<T> componentType) {
+        SceneQuery<T> query = (SceneQuery<T>) queries.get(componentType);
+        if (query == null) {
+            query = new SceneQuery<>(queryList.size(), componentType);
+            for (GameObject obj : gameObjects) {
+                query.onAdded(obj);
+            }
+            queries.put(componentType, query);
+            queryList.add(query);
+        }
+        return query;
+    }
+    
+    public ArchetypeStore getArchetypeStore() {
+        return archetypeStore;
+    }
+    
+    public ChunkGrid getChunkGrid() {
+        return chunkGrid;
+    }
+    
+    // 启用区块划分：已在场景中的对象立即归入各自区块
+    public void setChunkGrid(ChunkGrid chunkGrid) {
+        if (this.chunkGrid != null) {
+            this.chunkGrid.clear();
+        }
+        unchunkedObjects.clear();
+        deactivatedObjects.clear();
+        this.chunkGrid = chunkGrid;
+        if (chunkGrid != null) {
+            for (GameObject obj : gameObjects) {
+                track(obj);
             }
         }
     }
     
     public void render() {
+        ChunkGrid grid = chunkGrid;
+        if (grid != null) {
+            // 留出一圈边距，位置在视口外但外形伸入视口的对象照常绘制
+            grid.markVisible(cameraX - VIEW_MARGIN, cameraY - VIEW_MARGIN,
+                viewWidth > 0 ? viewWidth + VIEW_MARGIN * 2 : 0, viewHeight > 0 ? viewHeight + VIEW_MARGIN * 2 : 0);
+        }
+        if (grid != null && grid.isCullingEnabled()) {
+            renderVisibleChunks(grid);
+            return;
+        }
         for (GameObject obj : gameObjects) {
             if (obj.isActive()) {
                 obj.render();
@@ -60,33 +289,104 @@ public class Scene {
         }
     }
     
+    // 只绘制与视口相交的区块的成员，以及不归属区块的对象
+    private void renderVisibleChunks(ChunkGrid grid) {
+        for (int i = 0; i < unchunkedObjects.size(); i++) {
+            GameObject obj = unchunkedObjects.get(i);
+            if (obj.isActive()) {
+                obj.render();
+            }
+        }
+        for (int i = 0; i < grid.getVisibleChunkCount(); i++) {
+            int chunk = grid.getVisibleChunk(i);
+            for (int k = 0; k < grid.getMemberCount(chunk); k++) {
+                GameObject obj = grid.getMember(chunk, k);
+                if (obj.isActive()) {
+                    obj.render();
+                }
+            }
+        }
+    }
+    
     public void addGameObject(GameObject gameObject) {
         objectsToAdd.add(gameObject);
     }
     
     public <T extends Component<T>> List<GameObject> findGameObjectsByComponent(Class<T> componentType) {
-        return gameObjects.stream()
-            .filter(obj -> obj.hasComponent(componentType))
-            .collect(Collectors.toList());
+        SceneQuery<T> query = query(componentType);
+        List<GameObject> result = new ArrayList<>(query.size());
+        for (int i = 0; i < query.size(); i++) {
+            result.add(query.getGameObject(i));
+        }
+        return result;
     }
     
     public <T extends Component<T>> List<T> getComponents(Class<T> componentType) {
-        return findGameObjectsByComponent(componentType).stream()
-            .map(obj -> obj.getComponent(componentType))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        SceneQuery<T> query = query(componentType);
+        List<T> result = new ArrayList<>(query.size());
+        for (int i = 0; i < query.size(); i++) {
+            result.add(query.get(i));
+        }
+        return result;
     }
     
     public void clear() {
+        if (chunkGrid != null) {
+            chunkGrid.clear();
+        }
+        unchunkedObjects.clear();
+        deactivatedObjects.clear();
+        archetypeStore.clear();
+        for (int i = 0; i < queryList.size(); i++) {
+            queryList.get(i).clear();
+        }
+        for (TagGroup group : tagGroups) {
+            if (group != null) group.clear();
+        }
+        for (GameObject obj : gameObjects) {
+            obj.setScene(null);
+        }
         gameObjects.clear();
         objectsToAdd.clear();
         objectsToRemove.clear();
     }
     
+    public void setCamera(float x, float y, float viewWidth, float viewHeight) {
+        this.cameraX = x;
+        this.cameraY = y;
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+    }
+    
+    public float getCameraX() {
+        return cameraX;
+    }
+    
+    public float getCameraY() {
+        return cameraY;
+    }
+    
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+    
+    public void setInterpolationAlpha(float interpolationAlpha) {
+        this.interpolationAlpha = interpolationAlpha;
+    }
+    
     public String getName() {
         return name;
     }
     
+    // 不复制的遍历方式：按下标访问场景当前对象
+    public int getGameObjectCount() {
+        return gameObjects.size();
+    }
+    
+    public GameObject getGameObject(int index) {
+        return gameObjects.get(index);
+    }
+    
     public List<GameObject> getGameObjects() {
         return new ArrayList<>(gameObjects);
     }
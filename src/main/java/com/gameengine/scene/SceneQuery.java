@@ -0,0 +1,89 @@
+package com.gameengine.scene;
+
+import com.gameengine.core.Component;
+import com.gameengine.core.ComponentType;
+import com.gameengine.core.GameObject;
+
+import java.util.Arrays;
+
+// 由 Scene 增量维护的组件视图：注册一次，之后随对象增删更新，遍历时不分配内存。
+// 对象在本查询中的下标存在 GameObject 上（按查询 id 索引），增删不装箱
+public class SceneQuery<T extends Component<T>> {
+    private final int id;
+    private final ComponentType<T> componentType;
+    private GameObject[] objects;
+    private Component<?>[] components;
+    private int count;
+
+    SceneQuery(int id, Class<T> componentType) {
+        this.id = id;
+        this.componentType = ComponentType.of(componentType);
+        this.objects = new GameObject[16];
+        this.components = new Component<?>[16];
+        this.count = 0;
+    }
+
+    public Class<T> getComponentType() {
+        return componentType.getType();
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) components[index];
+    }
+
+    public GameObject getGameObject(int index) {
+        return objects[index];
+    }
+
+    public boolean contains(GameObject obj) {
+        int slot = obj.getQuerySlot(id);
+        return slot >= 0 && slot < count && objects[slot] == obj;
+    }
+
+    void onAdded(GameObject obj) {
+        if (contains(obj)) return;
+        T component = obj.getComponent(componentType);
+        if (component == null) return;
+        if (count == objects.length) {
+            objects = Arrays.copyOf(objects, count * 2);
+            components = Arrays.copyOf(components, count * 2);
+        }
+        objects[count] = obj;
+        components[count] = component;
+        obj.setQuerySlot(id, count);
+        count++;
+    }
+
+    // 与 TagGroup 相同的交换删除：末尾对象填入空位
+    void onRemoved(GameObject obj) {
+        if (!contains(obj)) return;
+        int index = obj.getQuerySlot(id);
+        int last = --count;
+        if (index != last) {
+            objects[index] = objects[last];
+            components[index] = components[last];
+            objects[index].setQuerySlot(id, index);
+        }
+        objects[last] = null;
+        components[last] = null;
+        obj.setQuerySlot(id, -1);
+    }
+
+    void clear() {
+        for (int i = 0; i < count; i++) {
+            objects[i].setQuerySlot(id, -1);
+        }
+        Arrays.fill(objects, 0, count, null);
+        Arrays.fill(components, 0, count, null);
+        count = 0;
+    }
+}
@@ -0,0 +1,70 @@
+package com.gameengine.scene;
+
+import com.gameengine.core.GameObject;
+import com.gameengine.core.Tag;
+
+import java.util.Arrays;
+
+// 同一标签的场景对象的紧凑数组，由 Scene 在对象挂入/移出时维护；按下标遍历不复制、不分配
+public class TagGroup {
+    private final Tag tag;
+    private GameObject[] objects;
+    private int count;
+
+    TagGroup(Tag tag) {
+        this.tag = tag;
+        this.objects = new GameObject[16];
+        this.count = 0;
+    }
+
+    public Tag getTag() {
+        return tag;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public GameObject get(int index) {
+        return objects[index];
+    }
+
+    public GameObject first() {
+        return count > 0 ? objects[0] : null;
+    }
+
+    void add(GameObject obj) {
+        if (obj.getTagSlot() >= 0) return;
+        if (count == objects.length) {
+            objects = Arrays.copyOf(objects, count * 2);
+        }
+        objects[count] = obj;
+        obj.setTagSlot(count);
+        count++;
+    }
+
+    // 与 SceneQuery 相同的交换删除：末尾对象填入空位
+    void remove(GameObject obj) {
+        int slot = obj.getTagSlot();
+        if (slot < 0 || slot >= count || objects[slot] != obj) return;
+        int last = --count;
+        if (slot != last) {
+            objects[slot] = objects[last];
+            objects[slot].setTagSlot(slot);
+        }
+        objects[last] = null;
+        obj.setTagSlot(-1);
+    }
+
+    void clear() {
+        for (int i = 0; i < count; i++) {
+            objects[i].setTagSlot(-1);
+            objects[i] = null;
+        }
+        count = 0;
+    }
+}